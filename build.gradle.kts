@@ -5,6 +5,7 @@ plugins {
     id("maven-publish")
     id("jacoco")
     id("net.ltgt.errorprone") version "3.1.0"
+    id("me.champeau.jmh") version "0.6.8"
 }
 
 val typetoolsVersion by extra { "0.6.3" }
@@ -12,6 +13,7 @@ val fastutilVersion by extra { "8.5.12" }
 val annotationsVersion by extra { "24.0.1" }
 val mockitoVersion by extra { "5.3.1" }
 val junitVersion by extra { "5.9.3" }
+val jmhVersion by extra { "1.36" }
 
 // 2.11+ requires at least JDK 11. This could be done by cross-compiling to Java 8 bytecode using JDK 11, but I
 // couldn't fix the issue with "sun.misc.Unsafe" being unrecognized when doing so with "--release 8". Maybe it's worth
@@ -82,6 +84,10 @@ tasks {
         options.errorprone.isEnabled.set(false)
     }
 
+    compileJmhJava {
+        options.errorprone.isEnabled.set(false)
+    }
+
     // Setup report for test coverage
     jacocoTestReport {
         reports {
@@ -95,6 +101,18 @@ tasks {
     }
 }
 
+// Benchmarks live in src/jmh/java and are run with "./gradlew jmh". Parameters can be narrowed for a quick run, e.g.
+// "./gradlew jmh -PjmhIncludes=PostBenchmark -PjmhThreads=4"
+jmh {
+    jmhVersion.set(project.extra["jmhVersion"] as String)
+    (project.findProperty("jmhIncludes") as String?)?.let { includes.set(listOf(it)) }
+    (project.findProperty("jmhThreads") as String?)?.let { threads.set(it.toInt()) }
+    resultFormat.set("JSON")
+    // Reports "gc.alloc.rate.norm" (bytes allocated per post) alongside each result
+    profilers.set(listOf("gc"))
+    jvmArgsAppend.set(listOf("-Xms1g", "-Xmx1g"))
+}
+
 fun configureJavaPublication(publication: MavenPublication) = publication.apply {
     from(components["java"])
     pom {
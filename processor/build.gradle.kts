@@ -0,0 +1,34 @@
+plugins {
+    id("java-library")
+    id("maven-publish")
+}
+
+group = rootProject.group
+version = rootProject.version
+
+base {
+    archivesName.set("AlpineFork-processor")
+}
+
+java {
+    toolchain {
+        languageVersion.set(JavaLanguageVersion.of(8))
+    }
+    withJavadocJar()
+    withSourcesJar()
+}
+
+tasks.jar {
+    into("META-INF") {
+        from(rootProject.file("LICENSE"))
+    }
+    manifest {
+        attributes(mapOf(
+            "Automatic-Module-Name" to "me.zero.alpine.processor"
+        ), "AlpineFork-processor")
+    }
+}
+
+repositories {
+    mavenCentral()
+}
@@ -0,0 +1,415 @@
+package dev.bat.alpinefork.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Generates a {@code GeneratedDiscoveryStrategy} for every {@code Subscriber} class which declares members annotated
+ * with {@code @Subscribe}, and registers the generated classes as services. The generated code mirrors the checks done
+ * by the built-in reflective discovery strategies, reporting invalid definitions as compile errors instead.
+ * <p>
+ * Classes with {@code @Subscribe} members or filters that can't be accessed from the same package (e.g. private
+ * members) are skipped with a warning, and will keep using reflective discovery at runtime.
+ *
+ * @author Bat
+ * @since 3.2.0
+ */
+public final class SubscribeProcessor extends AbstractProcessor {
+
+    private static final String SUBSCRIBE = "dev.bat.alpinefork.listener.Subscribe";
+    private static final String SUBSCRIBER = "dev.bat.alpinefork.listener.Subscriber";
+    private static final String LISTENER = "dev.bat.alpinefork.listener.Listener";
+    private static final String STRATEGY = "dev.bat.alpinefork.listener.discovery.GeneratedDiscoveryStrategy";
+    private static final String PHASE = "dev.bat.alpinefork.event.EventPhase";
+    private static final String DIRECTION = "dev.bat.alpinefork.event.EventDirection";
+    private static final String KEYED = "dev.bat.alpinefork.event.Keyed";
+    private static final String EVENT = "dev.bat.alpinefork.event.Event";
+    private static final String SUFFIX = "_ListenerDiscovery";
+
+    private Elements elements;
+    private Types types;
+    private Filer filer;
+    private Messager messager;
+
+    /**
+     * Binary names of all generated strategies, written to the service file once processing is over.
+     */
+    private final Set<String> generated = new TreeSet<>();
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+        this.filer = processingEnv.getFiler();
+        this.messager = processingEnv.getMessager();
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(SUBSCRIBE);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            this.writeServiceFile();
+            return false;
+        }
+
+        final TypeElement subscribe = this.elements.getTypeElement(SUBSCRIBE);
+        if (subscribe == null) {
+            return false;
+        }
+
+        // Group the annotated members by their declaring class
+        final Map<TypeElement, List<Element>> members = new LinkedHashMap<>();
+        for (Element element : roundEnv.getElementsAnnotatedWith(subscribe)) {
+            if (element.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+            members.computeIfAbsent((TypeElement) element.getEnclosingElement(), k -> new ArrayList<>()).add(element);
+        }
+
+        members.forEach((owner, annotated) -> {
+            try {
+                this.generate(owner, annotated, subscribe);
+            } catch (IOException e) {
+                this.messager.printMessage(Diagnostic.Kind.ERROR, "Unable to write listener discovery: " + e, owner);
+            }
+        });
+        return false;
+    }
+
+    private void generate(TypeElement owner, List<Element> annotated, TypeElement subscribe) throws IOException {
+        final TypeElement subscriber = this.elements.getTypeElement(SUBSCRIBER);
+        if (subscriber == null || !this.types.isAssignable(this.types.erasure(owner.asType()), subscriber.asType())) {
+            return;
+        }
+
+        final PackageElement pkg = this.elements.getPackageOf(owner);
+        if (owner.getNestingKind() == NestingKind.LOCAL || owner.getNestingKind() == NestingKind.ANONYMOUS
+            || !this.isAccessible(owner, pkg)) {
+            this.skip(owner, "class is not accessible from its package");
+            return;
+        }
+
+        final TypeMirror listenerType = this.types.erasure(this.elements.getTypeElement(LISTENER).asType());
+        final String ownerName = owner.getQualifiedName().toString();
+
+        final List<String> fields = new ArrayList<>();
+        final List<String> methods = new ArrayList<>();
+        final List<String> filterFields = new ArrayList<>();
+        boolean valid = true;
+
+        for (Element member : annotated) {
+            if (member.getModifiers().contains(Modifier.PRIVATE)) {
+                this.skip(owner, "'" + member.getSimpleName() + "' is private");
+                return;
+            }
+
+            if (member.getKind() == ElementKind.FIELD) {
+                // Fields of other types are ignored by the reflective strategy as well
+                if (!this.types.isSameType(this.types.erasure(member.asType()), listenerType)) {
+                    continue;
+                }
+                final List<? extends TypeMirror> args = ((DeclaredType) member.asType()).getTypeArguments();
+                if (args.isEmpty()) {
+                    this.error(member, "Listener fields must have a specified type parameter");
+                    valid = false;
+                    continue;
+                }
+                final String target = this.validateEventType(args.get(0), member, pkg);
+                if (target == null) {
+                    valid = false;
+                    continue;
+                }
+                fields.add("GeneratedDiscoveryStrategy.fieldCandidate(" + target + ".class, instance -> (("
+                    + ownerName + ") instance)." + member.getSimpleName() + ")");
+            } else if (member.getKind() == ElementKind.METHOD) {
+                final ExecutableElement method = (ExecutableElement) member;
+                if (method.getParameters().size() != 1) {
+                    this.error(member, "Listener methods must have exactly 1 parameter");
+                    valid = false;
+                    continue;
+                }
+                final String target = this.validateEventType(method.getParameters().get(0).asType(), member, pkg);
+                if (target == null) {
+                    valid = false;
+                    continue;
+                }
+
+                final AnnotationMirror mirror = this.getMirror(member, subscribe);
+                int priority = 0;
+                boolean receiveCancelled = true;
+                boolean parallel = false;
+                boolean routed = false;
+                String executor = "null";
+                String phases = enumSet(PHASE, Collections.emptyList());
+                String directions = enumSet(DIRECTION, Collections.emptyList());
+                final List<String> keys = new ArrayList<>();
+                final List<String> filters = new ArrayList<>();
+                for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                    : this.elements.getElementValuesWithDefaults(mirror).entrySet()) {
+                    final String name = entry.getKey().getSimpleName().toString();
+                    if (name.equals("priority")) {
+                        priority = (Integer) entry.getValue().getValue();
+                    } else if (name.equals("receiveCancelled")) {
+                        receiveCancelled = (Boolean) entry.getValue().getValue();
+                    } else if (name.equals("phase")) {
+                        final List<?> values = (List<?>) entry.getValue().getValue();
+                        phases = enumSet(PHASE, values);
+                        routed |= !values.isEmpty();
+                    } else if (name.equals("direction")) {
+                        final List<?> values = (List<?>) entry.getValue().getValue();
+                        directions = enumSet(DIRECTION, values);
+                        routed |= !values.isEmpty();
+                    } else if (name.equals("parallel")) {
+                        parallel = (Boolean) entry.getValue().getValue();
+                    } else if (name.equals("executor")) {
+                        final String value = (String) entry.getValue().getValue();
+                        executor = value.isEmpty() ? "null" : this.elements.getConstantExpression(value);
+                    } else if (name.equals("keys")) {
+                        for (Object value : (List<?>) entry.getValue().getValue()) {
+                            keys.add(String.valueOf(((AnnotationValue) value).getValue()));
+                        }
+                    } else if (name.equals("filters")) {
+                        for (Object value : (List<?>) entry.getValue().getValue()) {
+                            final TypeMirror filter = (TypeMirror) ((AnnotationValue) value).getValue();
+                            final TypeElement filterElement = (TypeElement) this.types.asElement(filter);
+                            if (!this.isAccessible(filterElement, pkg) || !this.hasAccessibleConstructor(filterElement, pkg)) {
+                                this.skip(owner, "filter " + filterElement.getQualifiedName() + " can't be constructed from " + pkg);
+                                return;
+                            }
+                            final Name filterName = filterElement.getQualifiedName();
+                            filters.add("GeneratedDiscoveryStrategy.filter(" + filterName + ".class, " + filterName + "::new)");
+                        }
+                    }
+                }
+
+                if (!keys.isEmpty() && !this.types.isAssignable(this.types.erasure(method.getParameters().get(0).asType()),
+                    this.types.erasure(this.elements.getTypeElement(KEYED).asType()))) {
+                    this.error(member, "Keyed listener methods must target an event type implementing Keyed");
+                    valid = false;
+                    continue;
+                }
+
+                final TypeMirror event = this.types.erasure(this.elements.getTypeElement(EVENT).asType());
+                final TypeMirror parameter = this.types.erasure(method.getParameters().get(0).asType());
+                if (routed && !this.types.isAssignable(parameter, event) && !this.types.isAssignable(event, parameter)) {
+                    this.error(member, "Listener methods with phases or directions must target an Event type");
+                    valid = false;
+                    continue;
+                }
+
+                final StringBuilder candidate = new StringBuilder("GeneratedDiscoveryStrategy.methodCandidate(")
+                    .append(target).append(".class, instance -> (Consumer<").append(target).append(">) ((")
+                    .append(ownerName).append(") instance)::").append(member.getSimpleName()).append(", (BiConsumer<")
+                    .append(ownerName).append(", ").append(target).append(">) ").append(ownerName).append("::")
+                    .append(member.getSimpleName()).append(", ").append(priority).append(", ").append(receiveCancelled)
+                    .append(", ").append(phases).append(", ").append(directions)
+                    .append(", new int[] {").append(keys.isEmpty() ? "" : " " + String.join(", ", keys) + " ").append("}, ").append(parallel).append(", ").append(executor);
+                if (!filters.isEmpty()) {
+                    final String field = "FILTERS_" + filterFields.size();
+                    filterFields.add("    private static final Predicate<?>[] " + field + " = { "
+                        + String.join(", ", filters) + " };");
+                    candidate.append(", ").append(field);
+                }
+                methods.add(candidate.append(")").toString());
+            }
+        }
+
+        if (!valid) {
+            return;
+        }
+
+        final String binaryName = this.elements.getBinaryName(owner).toString();
+        final String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+        final String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+            .replace('$', '_') + SUFFIX;
+        final String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+
+        try (Writer writer = this.filer.createSourceFile(qualifiedName, owner).openWriter()) {
+            if (!packageName.isEmpty()) {
+                writer.write("package " + packageName + ";\n\n");
+            }
+            writer.write("import dev.bat.alpinefork.listener.Subscriber;\n");
+            writer.write("import dev.bat.alpinefork.listener.discovery.GeneratedDiscoveryStrategy;\n");
+            writer.write("import dev.bat.alpinefork.listener.discovery.ListenerCandidate;\n\n");
+            writer.write("import java.util.function.BiConsumer;\n");
+            writer.write("import java.util.function.Consumer;\n");
+            writer.write("import java.util.function.Predicate;\n");
+            writer.write("import java.util.stream.Stream;\n\n");
+            writer.write("/**\n * Generated by " + SubscribeProcessor.class.getName() + " for {@link " + ownerName + "}.\n */\n");
+            writer.write("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+            writer.write("public final class " + simpleName + " implements GeneratedDiscoveryStrategy {\n\n");
+            for (String field : filterFields) {
+                writer.write(field + "\n");
+            }
+            if (!filterFields.isEmpty()) {
+                writer.write("\n");
+            }
+            writer.write("    @Override\n");
+            writer.write("    public Class<? extends Subscriber> subscriberClass() {\n");
+            writer.write("        return " + ownerName + ".class;\n");
+            writer.write("    }\n\n");
+            this.writeCandidates(writer, "findFields", fields);
+            writer.write("\n");
+            this.writeCandidates(writer, "findMethods", methods);
+            writer.write("}\n");
+        }
+        this.generated.add(qualifiedName);
+    }
+
+    /**
+     * Returns an expression creating an {@code EnumSet} of the specified enum constants, given as annotation values.
+     */
+    private static String enumSet(String type, List<?> values) {
+        if (values.isEmpty()) {
+            return "java.util.EnumSet.noneOf(" + type + ".class)";
+        }
+        final List<String> constants = new ArrayList<>();
+        for (Object value : values) {
+            constants.add(type + "." + ((VariableElement) ((AnnotationValue) value).getValue()).getSimpleName());
+        }
+        return "java.util.EnumSet.of(" + String.join(", ", constants) + ")";
+    }
+
+    private void writeCandidates(Writer writer, String method, List<String> candidates) throws IOException {
+        writer.write("    @Override\n");
+        writer.write("    public Stream<ListenerCandidate<?>> " + method + "() {\n");
+        if (candidates.isEmpty()) {
+            writer.write("        return Stream.empty();\n");
+        } else {
+            writer.write("        return Stream.of(\n            ");
+            writer.write(String.join(",\n            ", candidates));
+            writer.write("\n        );\n");
+        }
+        writer.write("    }\n");
+    }
+
+    /**
+     * Applies the same checks as {@code Events.validateEventType}, returning the name of the erased event class, or
+     * {@code null} if an error was reported.
+     */
+    private String validateEventType(TypeMirror type, Element member, PackageElement pkg) {
+        switch (type.getKind()) {
+            case TYPEVAR: {
+                this.error(member, "Listener target cannot be a type variable");
+                return null;
+            }
+            case ARRAY: {
+                this.error(member, "Listener target cannot be an array type");
+                return null;
+            }
+            case DECLARED: {
+                for (TypeMirror arg : ((DeclaredType) type).getTypeArguments()) {
+                    if (arg.getKind() != TypeKind.WILDCARD) {
+                        this.error(member, "Generic targets can only contain wildcards");
+                        return null;
+                    }
+                }
+                final TypeElement element = (TypeElement) this.types.asElement(type);
+                if (!this.isAccessible(element, pkg)) {
+                    this.error(member, "Listener target " + element.getQualifiedName() + " must be accessible from " + pkg);
+                    return null;
+                }
+                return element.getQualifiedName().toString();
+            }
+            default: {
+                if (type.getKind().isPrimitive()) {
+                    this.error(member, "Listener target cannot be a primitive");
+                } else {
+                    this.error(member, "Unable to resolve Listener target class (Unrecognized " + type + ")");
+                }
+                return null;
+            }
+        }
+    }
+
+    private boolean isAccessible(TypeElement type, PackageElement from) {
+        final boolean samePackage = this.elements.getPackageOf(type).equals(from);
+        for (Element e = type; e instanceof TypeElement; e = e.getEnclosingElement()) {
+            final Set<Modifier> modifiers = e.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE) || (!modifiers.contains(Modifier.PUBLIC) && !samePackage)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean hasAccessibleConstructor(TypeElement type, PackageElement from) {
+        if (type.getModifiers().contains(Modifier.ABSTRACT)
+            || (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC))) {
+            return false;
+        }
+        final boolean samePackage = this.elements.getPackageOf(type).equals(from);
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            final Set<Modifier> modifiers = constructor.getModifiers();
+            if (constructor.getParameters().isEmpty() && !modifiers.contains(Modifier.PRIVATE)
+                && (modifiers.contains(Modifier.PUBLIC) || samePackage)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private AnnotationMirror getMirror(Element element, TypeElement annotation) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (mirror.getAnnotationType().asElement().equals(annotation)) {
+                return mirror;
+            }
+        }
+        throw new IllegalStateException("Missing @Subscribe on " + element);
+    }
+
+    private void writeServiceFile() {
+        if (this.generated.isEmpty()) {
+            return;
+        }
+        try {
+            final FileObject file = this.filer.createResource(
+                StandardLocation.CLASS_OUTPUT, "", "META-INF/services/" + STRATEGY
+            );
+            try (Writer writer = file.openWriter()) {
+                for (String name : this.generated) {
+                    writer.write(name + "\n");
+                }
+            }
+        } catch (IOException e) {
+            this.messager.printMessage(Diagnostic.Kind.ERROR, "Unable to write service file: " + e);
+        }
+    }
+
+    private void skip(TypeElement owner, String reason) {
+        this.messager.printMessage(Diagnostic.Kind.WARNING,
+            "Skipping generated listener discovery for " + owner.getQualifiedName() + ", " + reason
+                + ". Reflective discovery will be used instead.", owner);
+    }
+
+    private void error(Element element, String message) {
+        this.messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
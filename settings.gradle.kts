@@ -1 +1,3 @@
 rootProject.name = "AlpineFork"
+
+include("processor")
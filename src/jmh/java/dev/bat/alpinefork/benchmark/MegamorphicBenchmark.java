@@ -0,0 +1,77 @@
+package dev.bat.alpinefork.benchmark;
+
+import dev.bat.alpinefork.bus.EventBus;
+import dev.bat.alpinefork.bus.EventManager;
+import dev.bat.alpinefork.listener.ListenerListFactory;
+import dev.bat.alpinefork.listener.Subscribe;
+import dev.bat.alpinefork.listener.Subscriber;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the default {@link ListenerListFactory} against {@link ListenerListFactory#generated()} when every listener
+ * of an event type has a different callback class, which is the usual case for {@link Subscribe} methods. Both event
+ * types are posted in each invocation, so that shared call sites see every callback type on the bus.
+ *
+ * @author Bat
+ * @since 3.2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MegamorphicBenchmark {
+
+    @Param({"false", "true"})
+    public boolean generated;
+
+    private EventBus bus;
+    private CounterEvent counter;
+    private SumEvent sum;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.bus = EventManager.builder()
+            .setName("benchmark")
+            .setListenerListFactory(this.generated ? ListenerListFactory.generated() : ListenerListFactory.defaultFactory())
+            .build();
+        this.bus.subscribe(new Handlers());
+        this.counter = new CounterEvent();
+        this.sum = new SumEvent();
+    }
+
+    @Benchmark
+    public long post() {
+        this.bus.post(this.counter);
+        this.bus.post(this.sum);
+        return this.counter.value + this.sum.value;
+    }
+
+    public static final class CounterEvent {
+        public long value;
+    }
+
+    public static final class SumEvent {
+        public long value;
+    }
+
+    public static final class Handlers implements Subscriber {
+
+        @Subscribe public void c0(CounterEvent e) { e.value++; }
+        @Subscribe public void c1(CounterEvent e) { e.value += 2; }
+        @Subscribe public void c2(CounterEvent e) { e.value += 3; }
+        @Subscribe public void c3(CounterEvent e) { e.value ^= 4; }
+        @Subscribe public void c4(CounterEvent e) { e.value -= 5; }
+        @Subscribe public void c5(CounterEvent e) { e.value += 6; }
+        @Subscribe public void c6(CounterEvent e) { e.value ^= 7; }
+        @Subscribe public void c7(CounterEvent e) { e.value -= 8; }
+
+        @Subscribe public void s0(SumEvent e) { e.value += e.value >> 1; }
+        @Subscribe public void s1(SumEvent e) { e.value -= 3; }
+        @Subscribe public void s2(SumEvent e) { e.value |= 1; }
+        @Subscribe public void s3(SumEvent e) { e.value += 11; }
+    }
+}
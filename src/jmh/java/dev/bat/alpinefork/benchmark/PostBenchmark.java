@@ -0,0 +1,164 @@
+package dev.bat.alpinefork.benchmark;
+
+import dev.bat.alpinefork.bus.EventBus;
+import dev.bat.alpinefork.bus.EventBusBuilder;
+import dev.bat.alpinefork.bus.EventManager;
+import dev.bat.alpinefork.listener.Listener;
+import dev.bat.alpinefork.listener.ListenerArrayList;
+import dev.bat.alpinefork.listener.ListenerList;
+import dev.bat.alpinefork.listener.ListenerListFactory;
+import dev.bat.alpinefork.listener.concurrent.CopyOnWriteListenerList;
+import dev.bat.alpinefork.listener.concurrent.GeneratedListenerList;
+import dev.bat.alpinefork.listener.concurrent.LockFreeListenerList;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Measures the throughput and latency of {@link EventBus#post} for each of the built-in {@link ListenerList}
+ * implementations. The parameters cover the listener count, whether each listener has a filter, and whether
+ * {@link EventBusBuilder#setSuperListeners()} is enabled. When super listeners are enabled, half of the listeners
+ * target {@link BaseEvent} and the other half target {@link ChildEvent}, which is the type that gets posted. The
+ * {@code postUnobserved} benchmarks post {@link UnobservedEvent}, which no listener targets.
+ * <p>
+ * Each benchmark method is run with a fixed number of posting threads. Use {@code -PjmhThreads=N} to override it.
+ *
+ * @author Bat
+ * @since 3.2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PostBenchmark {
+
+    @Param({"ARRAY_LIST", "COPY_ON_WRITE", "SYNCHRONIZED", "READ_WRITE_LOCK", "GENERATED", "LOCK_FREE"})
+    public ListType listType;
+
+    @Param({"1", "10", "100"})
+    public int listeners;
+
+    @Param({"false", "true"})
+    public boolean filtered;
+
+    @Param({"false", "true"})
+    public boolean superListeners;
+
+    private EventBus bus;
+    private ChildEvent event;
+    private UnobservedEvent unobserved;
+
+    @Setup(Level.Trial)
+    public void setup(final Blackhole bh) {
+        final EventBusBuilder<EventBus> builder = EventManager.builder()
+            .setName("benchmark")
+            .setListenerListFactory(this.listType);
+        if (this.superListeners) {
+            builder.setSuperListeners();
+        }
+        this.bus = builder.build();
+        this.event = new ChildEvent();
+        this.unobserved = new UnobservedEvent();
+
+        final Predicate<BaseEvent> filter = e -> e.value >= 0;
+        for (int i = 0; i < this.listeners; i++) {
+            final int priority = i;
+            if (this.superListeners && (i & 1) == 0) {
+                this.bus.subscribe(this.filtered
+                    ? new Listener<>(BaseEvent.class, bh::consume, priority, filter)
+                    : new Listener<>(BaseEvent.class, bh::consume, priority));
+            } else {
+                this.bus.subscribe(this.filtered
+                    ? new Listener<>(ChildEvent.class, bh::consume, priority, filter)
+                    : new Listener<>(ChildEvent.class, bh::consume, priority));
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void post1() {
+        this.bus.post(this.event);
+    }
+
+    @Benchmark
+    @Threads(2)
+    public void post2() {
+        this.bus.post(this.event);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void post4() {
+        this.bus.post(this.event);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void postMax() {
+        this.bus.post(this.event);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void postUnobserved() {
+        this.bus.post(this.unobserved);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void postUnobservedLazy() {
+        this.bus.post(UnobservedEvent.class, UnobservedEvent::new);
+    }
+
+    public enum ListType implements ListenerListFactory {
+        ARRAY_LIST {
+            @Override
+            public <T> ListenerList<T> create(Class<T> eventType) {
+                return new ListenerArrayList<>();
+            }
+        },
+        COPY_ON_WRITE {
+            @Override
+            public <T> ListenerList<T> create(Class<T> eventType) {
+                return new CopyOnWriteListenerList<>();
+            }
+        },
+        SYNCHRONIZED {
+            @Override
+            public <T> ListenerList<T> create(Class<T> eventType) {
+                return ListenerList.synchronize(new ListenerArrayList<>());
+            }
+        },
+        READ_WRITE_LOCK {
+            @Override
+            public <T> ListenerList<T> create(Class<T> eventType) {
+                return ListenerList.readWriteLock(new ListenerArrayList<>());
+            }
+        },
+        GENERATED {
+            @Override
+            public <T> ListenerList<T> create(Class<T> eventType) {
+                return new GeneratedListenerList<>();
+            }
+        },
+        LOCK_FREE {
+            @Override
+            public <T> ListenerList<T> create(Class<T> eventType) {
+                return new LockFreeListenerList<>();
+            }
+        }
+    }
+
+    public static class BaseEvent {
+        public int value;
+    }
+
+    public static class ChildEvent extends BaseEvent {}
+
+    public static class UnobservedEvent {}
+}
@@ -0,0 +1,77 @@
+package dev.bat.alpinefork.benchmark;
+
+import dev.bat.alpinefork.listener.Listener;
+import dev.bat.alpinefork.listener.ListenerList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures contended {@link ListenerList#add} and {@link ListenerList#remove} calls, where every thread repeatedly
+ * subscribes and unsubscribes its own listeners to a single shared list which already contains other listeners, and
+ * the same changes made through a single {@link ListenerList#update} each.
+ *
+ * @author Bat
+ * @since 3.2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SubscribeBenchmark {
+
+    @Param({"COPY_ON_WRITE", "LOCK_FREE"})
+    public PostBenchmark.ListType listType;
+
+    @Param({"10", "100"})
+    public int listeners;
+
+    private ListenerList<String> list;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.list = this.listType.create(String.class);
+        for (int i = 0; i < this.listeners; i++) {
+            this.list.add(new Listener<>(String.class, s -> {}, i % 5));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadListeners {
+
+        private final Listener<String>[] listeners = newListeners();
+        private final List<Listener<String>> batch = Arrays.asList(this.listeners);
+
+        @SuppressWarnings("unchecked")
+        private static Listener<String>[] newListeners() {
+            final Listener<String>[] listeners = new Listener[8];
+            for (int i = 0; i < listeners.length; i++) {
+                listeners[i] = new Listener<>(String.class, s -> {}, i % 5);
+            }
+            return listeners;
+        }
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void subscribeUnsubscribe(final ThreadListeners state) {
+        for (Listener<String> listener : state.listeners) {
+            this.list.add(listener);
+        }
+        for (Listener<String> listener : state.listeners) {
+            this.list.remove(listener);
+        }
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void updateBatch(final ThreadListeners state) {
+        this.list.update(state.batch, Collections.emptyList());
+        this.list.update(Collections.emptyList(), state.batch);
+    }
+}
@@ -0,0 +1,247 @@
+package dev.bat.alpinefork.bus;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * The bounded queue between {@link EventBus#postAsync} and the async executor of an {@link EventManager}. Each queued
+ * event has a single task submitted to the executor, which takes the oldest queued event rather than a specific one,
+ * so the executor never holds more tasks than the queue holds events, apart from the tasks of dropped events. When the
+ * queue is full, the {@link OverflowPolicy} of the event type decides what happens to the posted event.
+ * <p>
+ * {@link dev.bat.alpinefork.event.Coalescing Coalescing} events are queued in the {@link Coalescer.Slot slots} of their
+ * keys, each of which takes a single place in the queue however often its event is replaced.
+ *
+ * @author Bat
+ * @since 3.2.0
+ */
+final class AsyncQueue {
+
+    private final ArrayBlockingQueue<Task> queue;
+    private final Executor executor;
+    private final Consumer<Object> dispatch;
+    private final Consumer<Coalescer.Slot> dispatchSlot;
+    private final ClassValue<OverflowPolicy> policies;
+    private final Runnable runner;
+
+    /**
+     * Whether the current thread is dispatching an event taken from this queue.
+     */
+    private final ThreadLocal<Boolean> dispatching;
+
+    private final LongAdder dropped;
+    private final ConcurrentHashMap<Class<?>, LongAdder> droppedByType;
+
+    AsyncQueue(int capacity, Executor executor, Consumer<Object> dispatch, Consumer<Coalescer.Slot> dispatchSlot,
+               OverflowPolicy defaultPolicy, Map<Class<?>, OverflowPolicy> policies) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.executor = executor;
+        this.dispatch = dispatch;
+        this.dispatchSlot = dispatchSlot;
+        final Map<Class<?>, OverflowPolicy> copy = new HashMap<>(policies);
+        this.policies = new ClassValue<OverflowPolicy>() {
+            @Override
+            protected OverflowPolicy computeValue(Class<?> type) {
+                return resolve(type, copy, defaultPolicy);
+            }
+        };
+        this.runner = this::runNext;
+        this.dispatching = ThreadLocal.withInitial(() -> false);
+        this.dropped = new LongAdder();
+        this.droppedByType = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the policy of the nearest type in the hierarchy of the specified type which has one. The hierarchy is
+     * walked breadth first, with {@link Object} last, as it is the least specific type of all.
+     */
+    static OverflowPolicy resolve(Class<?> type, Map<Class<?>, OverflowPolicy> policies, OverflowPolicy defaultPolicy) {
+        final Deque<Class<?>> pending = new ArrayDeque<>();
+        final Set<Class<?>> visited = new HashSet<>();
+        pending.add(type);
+        Class<?> current;
+        while ((current = pending.poll()) != null) {
+            if (current == Object.class || !visited.add(current)) {
+                continue;
+            }
+            final OverflowPolicy policy = policies.get(current);
+            if (policy != null) {
+                return policy;
+            }
+            if (current.getSuperclass() != null) {
+                pending.add(current.getSuperclass());
+            }
+            pending.addAll(Arrays.asList(current.getInterfaces()));
+        }
+        return policies.getOrDefault(Object.class, defaultPolicy);
+    }
+
+    CompletableFuture<Void> submit(Object event) {
+        return this.enqueue(new Task(event.getClass(), new CompletableFuture<>(), event));
+    }
+
+    /**
+     * Queues a new slot of a {@link Coalescer}. A slot which is dropped is taken first, so that later events with its
+     * key are queued in a new slot.
+     */
+    CompletableFuture<Void> submitSlot(Coalescer.Slot slot) {
+        return this.enqueue(new SlotTask(slot));
+    }
+
+    private CompletableFuture<Void> enqueue(Task task) {
+        if (this.queue.offer(task)) {
+            this.schedule(task);
+            return task.future;
+        }
+
+        switch (this.policies.get(task.type)) {
+            case BLOCK:
+                if (this.dispatching.get()) {
+                    task.run();
+                    break;
+                }
+                try {
+                    this.queue.put(task);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    task.fail(e);
+                    break;
+                }
+                this.schedule(task);
+                break;
+            case DROP_NEWEST:
+                this.drop(task);
+                break;
+            case DROP_OLDEST:
+                int drops = 0;
+                while (!this.queue.offer(task)) {
+                    final Task oldest = this.queue.poll();
+                    if (oldest != null) {
+                        this.drop(oldest);
+                        drops++;
+                    }
+                }
+                // The executor task of a dropped event takes the posted event instead
+                if (drops == 0) {
+                    this.schedule(task);
+                }
+                break;
+            case CALLER_RUNS:
+                task.run();
+                break;
+        }
+        return task.future;
+    }
+
+    private void schedule(Task task) {
+        try {
+            this.executor.execute(this.runner);
+        } catch (RuntimeException e) {
+            // Without its executor task, the queued event would only be dispatched by the task of a later event
+            if (this.queue.remove(task)) {
+                throw e;
+            }
+        }
+    }
+
+    private void runNext() {
+        final Task task = this.queue.poll();
+        if (task == null) {
+            return;
+        }
+        final boolean previous = this.dispatching.get();
+        this.dispatching.set(true);
+        try {
+            task.run();
+        } finally {
+            this.dispatching.set(previous);
+        }
+    }
+
+    private void drop(Task task) {
+        this.dropped.increment();
+        this.droppedByType.computeIfAbsent(task.type, type -> new LongAdder()).increment();
+        task.cancel();
+    }
+
+    int size() {
+        return this.queue.size();
+    }
+
+    long getDropped() {
+        return this.dropped.sum();
+    }
+
+    long getDropped(Class<?> type) {
+        final LongAdder dropped = this.droppedByType.get(type);
+        return dropped != null ? dropped.sum() : 0;
+    }
+
+    private class Task {
+
+        final Class<?> type;
+        final CompletableFuture<Void> future;
+        private final Object event;
+
+        Task(Class<?> type, CompletableFuture<Void> future, Object event) {
+            this.type = type;
+            this.future = future;
+            this.event = event;
+        }
+
+        void run() {
+            try {
+                AsyncQueue.this.dispatch.accept(this.event);
+                this.future.complete(null);
+            } catch (Throwable cause) {
+                this.future.completeExceptionally(cause);
+            }
+        }
+
+        void cancel() {
+            this.future.cancel(false);
+        }
+
+        void fail(Throwable cause) {
+            this.future.completeExceptionally(cause);
+        }
+    }
+
+    private final class SlotTask extends Task {
+
+        private final Coalescer.Slot slot;
+
+        private SlotTask(Coalescer.Slot slot) {
+            super(slot.type(), slot.future(), slot);
+            this.slot = slot;
+        }
+
+        @Override
+        void run() {
+            AsyncQueue.this.dispatchSlot.accept(this.slot);
+        }
+
+        @Override
+        void cancel() {
+            this.slot.take();
+            super.cancel();
+        }
+
+        @Override
+        void fail(Throwable cause) {
+            this.slot.take();
+            super.fail(cause);
+        }
+    }
+}
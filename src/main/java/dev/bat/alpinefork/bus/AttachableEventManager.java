@@ -2,21 +2,41 @@ package dev.bat.alpinefork.bus;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
 
 /**
  * Implementation of {@link EventManager} that is an {@link AttachableEventBus}.
+ * <p>
+ * Events are only forwarded to the attached buses which {@link EventBus#hasListeners have listeners} for their type.
+ * The interested buses of each event type are cached, and the cache is cleared whenever an attached bus reports that
+ * its interest has changed, so attached buses which don't listen for a type cost nothing when it is posted.
  *
  * @author Brady
  * @since 1.8
  */
 public class AttachableEventManager extends EventManager implements AttachableEventBus {
 
+    private static final EventBus[] NO_BUSES = new EventBus[0];
+
     /**
      * List of attached event buses.
      */
     protected final CopyOnWriteArrayList<EventBus> attached = new CopyOnWriteArrayList<>();
 
+    /**
+     * The attached buses which have listeners for each event type, computed when the type is first posted. The map is
+     * replaced, rather than cleared, when the interest of an attached bus changes, so that a post which is computing
+     * an entry from outdated interest can't store it in the new map.
+     */
+    private volatile ConcurrentHashMap<Class<?>, EventBus[]> interested = new ConcurrentHashMap<>();
+
+    /**
+     * Registered as an interest listener of every attached bus.
+     */
+    private final Runnable childInterestListener = this::onInterestChanged;
+
     public AttachableEventManager(@NotNull String name) {
         super(name);
     }
@@ -25,21 +45,75 @@ public class AttachableEventManager extends EventManager implements AttachableEv
         super(builder);
     }
 
+    /**
+     * Posts the event to the attached buses which have listeners for its type.
+     */
     @Override
-    public <T> void post(@NotNull T event) {
-        super.post(event);
-        for (EventBus bus : this.attached) {
+    protected <T> void forward(@NotNull T event) {
+        for (EventBus bus : this.getInterested(event.getClass())) {
             bus.post(event);
         }
     }
 
+    @Override
+    public <T> void post(@NotNull Class<T> eventType, @NotNull Supplier<? extends T> supplier) {
+        if (this.getInterested(eventType).length != 0) {
+            this.post(supplier.get());
+        } else {
+            super.post(eventType, supplier);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This includes the listeners of the attached buses, so that buses which are attached to this bus only receive
+     * the events which this bus or one of its attached buses listens for.
+     */
+    @Override
+    public boolean hasListeners(@NotNull Class<?> eventType) {
+        return super.hasListeners(eventType) || this.getInterested(eventType).length != 0;
+    }
+
     @Override
     public boolean attach(@NotNull EventBus bus) {
-        return this.attached.addIfAbsent(bus);
+        if (!this.attached.addIfAbsent(bus)) {
+            return false;
+        }
+        bus.addInterestListener(this.childInterestListener);
+        this.onInterestChanged();
+        return true;
     }
 
     @Override
     public boolean detach(@NotNull EventBus bus) {
-        return this.attached.remove(bus);
+        if (!this.attached.remove(bus)) {
+            return false;
+        }
+        bus.removeInterestListener(this.childInterestListener);
+        this.onInterestChanged();
+        return true;
+    }
+
+    private EventBus[] getInterested(Class<?> eventType) {
+        final ConcurrentHashMap<Class<?>, EventBus[]> interested = this.interested;
+        final EventBus[] cached = interested.get(eventType);
+        if (cached != null) {
+            return cached;
+        }
+        final EventBus[] buses = this.attached.stream()
+            .filter(bus -> bus.hasListeners(eventType))
+            .toArray(EventBus[]::new);
+        interested.put(eventType, buses.length == 0 ? NO_BUSES : buses);
+        return buses;
+    }
+
+    /**
+     * Clears the interested buses, and notifies the buses which this bus is attached to, as the result of
+     * {@link #hasListeners} depends on the attached buses.
+     */
+    private void onInterestChanged() {
+        this.interested = new ConcurrentHashMap<>();
+        this.notifyInterestChanged();
     }
 }
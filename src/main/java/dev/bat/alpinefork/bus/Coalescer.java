@@ -0,0 +1,153 @@
+package dev.bat.alpinefork.bus;
+
+import dev.bat.alpinefork.event.Coalescing;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Tracks the queued {@link Coalescing} events of a queue, so that a newer event can replace a queued event with the
+ * same class and coalescing key. Coalescing events are queued in {@link Slot}s instead of directly, and the event of a
+ * slot can be replaced until it is {@link Slot#take() taken} for dispatch.
+ *
+ * @author Bat
+ * @since 3.2.0
+ */
+final class Coalescer {
+
+    private static final Object TAKEN = new Object();
+
+    /**
+     * The slot of each key which hasn't been taken yet.
+     */
+    private final ConcurrentHashMap<Key, Slot> pending;
+    private final Consumer<Slot> enqueue;
+    private final boolean futures;
+
+    /**
+     * @param enqueue Adds a new slot to the queue, called on the thread which offered its event
+     * @param futures Whether each slot has a future, which is completed by {@link Slot#complete}
+     */
+    Coalescer(Consumer<Slot> enqueue, boolean futures) {
+        this.pending = new ConcurrentHashMap<>();
+        this.enqueue = enqueue;
+        this.futures = futures;
+    }
+
+    /**
+     * Replaces the event of the pending slot with the same key, or enqueues a new slot for the event if there is no
+     * such slot.
+     *
+     * @return The slot which holds the event
+     */
+    Slot offer(Coalescing event) {
+        final Key key = new Key(event.getClass(), Objects.requireNonNull(event.getCoalescingKey()));
+        while (true) {
+            final Slot existing = this.pending.get(key);
+            if (existing != null && existing.replace(event)) {
+                return existing;
+            }
+            final Slot slot = new Slot(key, event);
+            // Retry if another thread has created a slot, or the existing slot has been taken and removed meanwhile
+            if (existing == null ? this.pending.putIfAbsent(key, slot) == null : this.pending.replace(key, existing, slot)) {
+                try {
+                    this.enqueue.accept(slot);
+                } catch (RuntimeException e) {
+                    // The slot would never be taken, so later events with the key would never be dispatched
+                    this.pending.remove(key, slot);
+                    throw e;
+                }
+                return slot;
+            }
+        }
+    }
+
+    final class Slot {
+
+        private final Key key;
+        private final AtomicReference<Object> event;
+        private final @Nullable CompletableFuture<Void> future;
+
+        private Slot(Key key, Object event) {
+            this.key = key;
+            this.event = new AtomicReference<>(event);
+            this.future = Coalescer.this.futures ? new CompletableFuture<>() : null;
+        }
+
+        private boolean replace(Object event) {
+            Object current;
+            do {
+                current = this.event.get();
+                if (current == TAKEN) {
+                    return false;
+                }
+            } while (!this.event.compareAndSet(current, event));
+            return true;
+        }
+
+        /**
+         * Removes the latest event from this slot, after which it can no longer be replaced. Must only be called once.
+         */
+        Object take() {
+            final Object event = this.event.getAndSet(TAKEN);
+            Coalescer.this.pending.remove(this.key, this);
+            return event;
+        }
+
+        /**
+         * Returns the class of the events of this slot.
+         */
+        Class<?> type() {
+            return this.key.type;
+        }
+
+        /**
+         * Returns the future which is completed once the latest event of this slot has been dispatched.
+         */
+        CompletableFuture<Void> future() {
+            return Objects.requireNonNull(this.future);
+        }
+
+        void complete(@Nullable Throwable cause) {
+            if (this.future != null) {
+                if (cause == null) {
+                    this.future.complete(null);
+                } else {
+                    this.future.completeExceptionally(cause);
+                }
+            }
+        }
+    }
+
+    private static final class Key {
+
+        private final Class<?> type;
+        private final Object key;
+
+        private Key(Class<?> type, Object key) {
+            this.type = type;
+            this.key = key;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.type.hashCode() + this.key.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return this.type == other.type && this.key.equals(other.key);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package dev.bat.alpinefork.bus;
+
+import dev.bat.alpinefork.event.Coalescing;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * The events queued by {@link EventBus#postDeferred} on an {@link EventManager}. Each producer thread is given its own
+ * lock-free queue the first time it posts, so producers never contend with each other, and only contend with the
+ * draining thread on the queue itself. Draining takes one event from each producer in turn, so events are dispatched
+ * in FIFO order per producer, and a single busy producer can't starve the others.
+ * <p>
+ * {@link Coalescing} events are queued in a {@link Coalescer.Slot}, which later events with the same key replace the
+ * event of until it is drained.
+ *
+ * @author Bat
+ * @since 3.2.0
+ */
+final class DeferredQueue {
+
+    private final ThreadLocal<Producer> producer;
+    private final CopyOnWriteArrayList<Producer> producers;
+    private final AtomicBoolean draining;
+    private final Coalescer coalescer;
+
+    DeferredQueue() {
+        this.producers = new CopyOnWriteArrayList<>();
+        this.producer = ThreadLocal.withInitial(() -> {
+            final Producer producer = new Producer(Thread.currentThread());
+            this.producers.add(producer);
+            return producer;
+        });
+        this.draining = new AtomicBoolean();
+        this.coalescer = new Coalescer(slot -> this.producer.get().queue.offer(slot), false);
+    }
+
+    void add(Object event) {
+        if (event instanceof Coalescing) {
+            this.coalescer.offer((Coalescing) event);
+        } else {
+            this.producer.get().queue.offer(event);
+        }
+    }
+
+    /**
+     * Passes queued events to the specified action until every queue is empty, or {@code nanosBudget} nanoseconds
+     * have passed since the drain started. The budget is checked before each event, so an event which is being
+     * dispatched when the budget runs out is always completed.
+     *
+     * @return The number of events that were passed to the action, or {@code 0} if another thread is already draining
+     */
+    int drain(long nanosBudget, Consumer<Object> action) {
+        if (!this.draining.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            final long start = System.nanoTime();
+            int drained = 0;
+            boolean progress = true;
+            while (progress) {
+                progress = false;
+                for (Producer producer : this.producers) {
+                    final Object queued = producer.queue.peek();
+                    if (queued == null) {
+                        // A terminated thread can't post again, but may have posted since the peek
+                        if (producer.isStale() && producer.queue.isEmpty()) {
+                            this.producers.remove(producer);
+                        }
+                        continue;
+                    }
+                    if (System.nanoTime() - start >= nanosBudget) {
+                        return drained;
+                    }
+                    // Peek first, so that the event stays queued if the budget has run out
+                    producer.queue.poll();
+                    drained++;
+                    progress = true;
+                    action.accept(queued instanceof Coalescer.Slot ? ((Coalescer.Slot) queued).take() : queued);
+                }
+            }
+            return drained;
+        } finally {
+            this.draining.set(false);
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Producer producer : this.producers) {
+            size += producer.queue.size();
+        }
+        return size;
+    }
+
+    private static final class Producer {
+
+        private final ConcurrentLinkedQueue<Object> queue = new ConcurrentLinkedQueue<>();
+        private final WeakReference<Thread> thread;
+
+        private Producer(Thread thread) {
+            this.thread = new WeakReference<>(thread);
+        }
+
+        /**
+         * Returns whether the thread of this producer has terminated, so its queue can't receive any more events.
+         */
+        private boolean isStale() {
+            final Thread thread = this.thread.get();
+            return thread == null || !thread.isAlive();
+        }
+    }
+}
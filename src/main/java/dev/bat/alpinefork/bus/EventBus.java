@@ -1,10 +1,16 @@
 package dev.bat.alpinefork.bus;
 
 import dev.bat.alpinefork.event.Cancellable;
+import dev.bat.alpinefork.event.EventPool;
+import dev.bat.alpinefork.event.Poolable;
 import dev.bat.alpinefork.listener.Listener;
 import dev.bat.alpinefork.listener.Subscriber;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
 /**
  * The core of an event-driven application.
  * <p>
@@ -40,37 +46,41 @@ public interface EventBus {
     <T> void subscribe(@NotNull Listener<T> listener);
 
     /**
-     * Calls {@link #subscribe(Subscriber)} on all the specified subscribers.
+     * Subscribes all the specified subscribers as a single {@link #batch}.
      *
      * @param subscribers An array of subscribers
      * @since 1.7
      */
     default void subscribeAll(@NotNull Subscriber... subscribers) {
-        for (Subscriber subscriber : subscribers) {
-            this.subscribe(subscriber);
-        }
+        this.batch(batch -> {
+            for (Subscriber subscriber : subscribers) {
+                batch.subscribe(subscriber);
+            }
+        });
     }
 
     /**
-     * Calls {@link #subscribe(Subscriber)} on all the specified subscribers.
+     * Subscribes all the specified subscribers as a single {@link #batch}.
      *
      * @param subscribers An iterable of subscribers
      * @since 1.7
      */
     default void subscribeAll(@NotNull Iterable<Subscriber> subscribers) {
-        subscribers.forEach(this::subscribe);
+        this.batch(batch -> batch.subscribeAll(subscribers));
     }
 
     /**
-     * Calls {@link #subscribe(Listener)} on all the specified listeners.
+     * Subscribes all the specified listeners as a single {@link #batch}.
      *
      * @param listeners An array of listeners
      * @since 1.9
      */
     default void subscribeAll(@NotNull Listener<?>... listeners) {
-        for (Listener<?> listener : listeners) {
-            this.subscribe(listener);
-        }
+        this.batch(batch -> {
+            for (Listener<?> listener : listeners) {
+                batch.subscribe(listener);
+            }
+        });
     }
 
     /**
@@ -91,39 +101,127 @@ public interface EventBus {
     <T> void unsubscribe(@NotNull Listener<T> listener);
 
     /**
-     * Calls {@link #unsubscribe(Subscriber)} on all the specified subscribers.
+     * Unsubscribes all the specified subscribers as a single {@link #batch}.
      *
      * @param subscribers An array of subscribers
      * @since 1.7
      */
     default void unsubscribeAll(@NotNull Subscriber... subscribers) {
-        for (Subscriber subscriber : subscribers) {
-            this.unsubscribe(subscriber);
-        }
+        this.batch(batch -> {
+            for (Subscriber subscriber : subscribers) {
+                batch.unsubscribe(subscriber);
+            }
+        });
     }
 
     /**
-     * Calls {@link #unsubscribe(Subscriber)} on all the specified subscribers.
+     * Unsubscribes all the specified subscribers as a single {@link #batch}.
      *
      * @param subscribers An iterable of subscribers
      * @since 1.7
      */
     default void unsubscribeAll(@NotNull Iterable<Subscriber> subscribers) {
-        subscribers.forEach(this::unsubscribe);
+        this.batch(batch -> batch.unsubscribeAll(subscribers));
     }
 
     /**
-     * Calls {@link #unsubscribe(Listener)} on all the specified listeners.
+     * Unsubscribes all the specified listeners as a single {@link #batch}.
      *
      * @param listeners An array of listeners
      * @since 1.9
      */
     default void unsubscribeAll(@NotNull Listener<?>... listeners) {
-        for (Listener<?> listener : listeners) {
-            this.unsubscribe(listener);
-        }
+        this.batch(batch -> {
+            for (Listener<?> listener : listeners) {
+                batch.unsubscribe(listener);
+            }
+        });
+    }
+
+    /**
+     * Collects the subscription changes made by the specified function, and applies them once it returns. The
+     * built-in buses group the changes by event type, and apply the changes of each type with a single
+     * {@link dev.bat.alpinefork.listener.ListenerList#update}, so each listener list is rebuilt once rather than once
+     * per listener, and a post never observes only some of the batch's listeners of its event type. If the function
+     * throws an exception, none of the changes are applied.
+     * <pre>
+     * bus.batch(batch -&gt; {
+     *   batch.subscribe(module);
+     *   batch.unsubscribe(oldModule);
+     * });
+     * </pre>
+     * The default implementation applies each change immediately, through {@link #subscribe} and
+     * {@link #unsubscribe}.
+     *
+     * @param changes The function making the changes
+     * @since 3.2.0
+     */
+    default void batch(@NotNull Consumer<? super SubscriptionBatch> changes) {
+        changes.accept(new SubscriptionBatch() {
+            @Override
+            public void subscribe(@NotNull Subscriber subscriber) {
+                EventBus.this.subscribe(subscriber);
+            }
+
+            @Override
+            public <T> void subscribe(@NotNull Listener<T> listener) {
+                EventBus.this.subscribe(listener);
+            }
+
+            @Override
+            public void unsubscribe(@NotNull Subscriber subscriber) {
+                EventBus.this.unsubscribe(subscriber);
+            }
+
+            @Override
+            public <T> void unsubscribe(@NotNull Listener<T> listener) {
+                EventBus.this.unsubscribe(listener);
+            }
+        });
     }
 
+    /**
+     * Returns whether posting an event of the specified type to this bus may invoke a {@link Listener}. This doesn't
+     * take filters, phases, directions or keys into account. The default implementation always returns {@code true}.
+     *
+     * @param eventType The event type
+     * @return {@code false} if no listener of this bus receives events of the type
+     * @see #addInterestListener
+     * @since 3.2.0
+     */
+    default boolean hasListeners(@NotNull Class<?> eventType) {
+        return true;
+    }
+
+    /**
+     * Registers a callback which is run after the result of {@link #hasListeners} may have changed for any event
+     * type, such as when the first listener of a type is subscribed or the last one is unsubscribed. This is used by
+     * {@link AttachableEventBus}es to only forward events to attached buses which have listeners for them. The default
+     * implementation does nothing, as {@link #hasListeners} never changes by default.
+     *
+     * @param listener The callback
+     * @since 3.2.0
+     */
+    default void addInterestListener(@NotNull Runnable listener) {}
+
+    /**
+     * Removes a callback which was registered with {@link #addInterestListener}.
+     *
+     * @param listener The callback
+     * @since 3.2.0
+     */
+    default void removeInterestListener(@NotNull Runnable listener) {}
+
+    /**
+     * Removes the {@link Listener}s of all subscribers that have been garbage collected, if this bus has been built
+     * with {@link EventBusBuilder#setWeakSubscribers() weak subscribers}. This is also done at the start of every
+     * {@link #post}, so calling this is only required to release memory on a bus that isn't posted to regularly. The
+     * default implementation does nothing.
+     *
+     * @since 3.2.0
+     */
+    default void expungeStaleSubscribers() {}
+
     /**
      * Posts an event to all registered {@link Listener}s.
      *
@@ -134,6 +232,98 @@ public interface EventBus {
      */
     <T> void post(@NotNull T event);
 
+    /**
+     * Posts the event created by the specified supplier, only creating it if this bus {@link #hasListeners has
+     * listeners} for the specified event type. This allows producers to skip building events that nobody receives.
+     * The supplier should create an instance of exactly the specified type, since the listeners of its subtypes aren't
+     * taken into account.
+     * <pre>
+     * bus.post(TickEvent.class, () -&gt; new TickEvent(world.snapshot()));
+     * </pre>
+     *
+     * @param eventType The type of the created event
+     * @param supplier  The function creating the event
+     * @param <T>       The event type
+     * @since 3.2.0
+     */
+    default <T> void post(@NotNull Class<T> eventType, @NotNull Supplier<? extends T> supplier) {
+        if (this.hasListeners(eventType)) {
+            this.post(supplier.get());
+        }
+    }
+
+    /**
+     * Queues an event to be posted by a later call to {@link #drainDeferred}, which is usually made by a single thread,
+     * such as the main thread of a game loop. Events are posted in the order they were queued by each thread. The
+     * default implementation posts the event immediately.
+     *
+     * @param event The event
+     * @param <T>   The event type
+     * @since 3.2.0
+     */
+    default <T> void postDeferred(@NotNull T event) {
+        this.post(event);
+    }
+
+    /**
+     * Posts the events queued by {@link #postDeferred}, until none are left or the specified time budget has been
+     * used up, in which case the remaining events stay queued for the next call. Events queued by different threads
+     * are posted alternately, one event from each thread at a time. The budget is checked before each event, so a
+     * slow listener can exceed it by the time that its event takes to dispatch. The default implementation does
+     * nothing, as {@link #postDeferred} doesn't queue events by default.
+     *
+     * @param nanosBudget The time budget, in nanoseconds
+     * @return The number of events that were posted, or {@code 0} if another thread is already draining
+     * @since 3.2.0
+     */
+    default int drainDeferred(long nanosBudget) {
+        return 0;
+    }
+
+    /**
+     * Posts an event to all registered {@link Listener}s without blocking the calling thread, if this bus has been
+     * configured with an {@link EventBusBuilder#setAsyncExecutor async executor}. The {@link Listener}s of a single
+     * event are invoked one after another in priority order, on the same thread. The default implementation of this
+     * method dispatches on the calling thread and returns an already completed future.
+     *
+     * @param event Event being called
+     * @param <T>   The event type
+     * @return A future which completes once all listeners have been invoked, or completes exceptionally if dispatch
+     * threw an exception
+     * @since 3.2.0
+     */
+    default <T> @NotNull CompletableFuture<Void> postAsync(@NotNull T event) {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        try {
+            this.post(event);
+            future.complete(null);
+        } catch (Throwable cause) {
+            future.completeExceptionally(cause);
+        }
+        return future;
+    }
+
+    /**
+     * Posts an event which was acquired from the specified pool, and releases it back to the pool once it has been
+     * dispatched to all {@link Listener}s, even if a listener threw an exception. As the event is reset when it is
+     * released, its cancelled state is returned by this method.
+     *
+     * @param event The event
+     * @param pool  The pool the event was acquired from
+     * @param <T>   The event type
+     * @return Whether the event is {@link Cancellable} and has been cancelled, or {@code false} if the dispatch of the
+     * event has been deferred by this bus
+     * @since 3.2.0
+     */
+    default <T extends Poolable> boolean post(@NotNull T event, @NotNull EventPool<? super T> pool) {
+        try {
+            this.post(event);
+            return event instanceof Cancellable && ((Cancellable) event).isCancelled();
+        } finally {
+            pool.release(event);
+        }
+    }
+
     /**
      * Posts a cancellable event and returns whether the event has been cancelled.
      *
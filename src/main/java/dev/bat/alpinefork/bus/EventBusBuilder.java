@@ -1,17 +1,23 @@
 package dev.bat.alpinefork.bus;
 
+import dev.bat.alpinefork.event.Coalescing;
+import dev.bat.alpinefork.event.dispatch.EventDispatcher;
 import dev.bat.alpinefork.listener.*;
 import dev.bat.alpinefork.listener.discovery.ListenerDiscoveryStrategy;
+import dev.bat.alpinefork.metrics.EventBusMetrics;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnmodifiableView;
 
 import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BooleanSupplier;
 
 /**
- * A builder class for {@link EventManager} and {@link AttachableEventManager}. A new instance of this class is created
- * and returned by {@link EventManager#builder()}. May be used to construct an {@link EventManager} with
- * {@link #build()}, or get passed to {@link EventManager#EventManager(EventBusBuilder)} when constructing a new
+ * A builder class for {@link EventManager}, {@link AttachableEventManager} and {@link RingBufferEventManager}. A new
+ * instance of this class is created and returned by {@link EventManager#builder()}. May be used to construct an
+ * {@link EventManager} with {@link #build()}, or get passed to {@link EventManager#EventManager(EventBusBuilder)} when constructing a new
  * instance or defining a subclass.
  *
  * @author Brady
@@ -23,10 +29,23 @@ public final class EventBusBuilder<T extends EventBus> {
     private String name = null;
     private boolean parentDiscovery = false;
     private boolean superListeners = false;
+    private boolean weakSubscribers = false;
+    private boolean metrics = false;
     private ListenerExceptionHandler exceptionHandler = ListenerExceptionHandler.defaultHandler();
     private ListenerListFactory listenerListFactory = ListenerListFactory.defaultFactory();
     private final List<ListenerDiscoveryStrategy> discoveryStrategies = new ArrayList<>();
     private boolean attachable = false;
+    private Executor asyncExecutor = null;
+    private int asyncQueueCapacity = 0;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+    private final Map<Class<?>, OverflowPolicy> overflowPolicies = new LinkedHashMap<>();
+    private final List<Class<?>> eventTypes = new ArrayList<>();
+    private ForkJoinPool parallelPool = null;
+    private final List<Class<?>> parallelEventTypes = new ArrayList<>();
+    private final Map<String, Executor> executors = new LinkedHashMap<>();
+    private final Map<String, BooleanSupplier> executorThreads = new HashMap<>();
+    private int ringBufferCapacity = 0;
+    private WaitStrategy waitStrategy = WaitStrategy.parking();
 
     EventBusBuilder() {
         this.discoveryStrategies.add(ListenerDiscoveryStrategy.subscribeFields());
@@ -71,6 +90,36 @@ public final class EventBusBuilder<T extends EventBus> {
         return this;
     }
 
+    /**
+     * Causes the {@link EventBus} to only hold weak references to {@link Subscriber} instances. When a subscribed
+     * instance is garbage collected without being unsubscribed, its {@link Listener}s stop receiving events, and are
+     * removed from the bus in a single batch during the next {@link EventBus#post} or
+     * {@link EventBus#expungeStaleSubscribers()} call. Subscribers are compared by identity when this is enabled.
+     * <p>
+     * Listeners that are subscribed individually through {@link EventBus#subscribe(Listener)} are still strongly
+     * referenced.
+     *
+     * @return This builder
+     * @since 3.2.0
+     */
+    public @NotNull EventBusBuilder<T> setWeakSubscribers() {
+        this.weakSubscribers = true;
+        return this;
+    }
+
+    /**
+     * Enables the collection of {@link EventBusMetrics}, which are available through {@link EventManager#getMetrics()}.
+     * Every post and every {@link Listener} invocation is timed when this is enabled, so it should only be used while
+     * profiling. Buses built without metrics aren't affected.
+     *
+     * @return This builder
+     * @since 3.2.0
+     */
+    public @NotNull EventBusBuilder<T> setMetrics() {
+        this.metrics = true;
+        return this;
+    }
+
     /**
      * Sets the exception handler that will be invoked when an exception is thrown by a Listener. The specified
      * exception handler may be {@code null}, indicating that no explicit exception handling is to occur, and
@@ -136,6 +185,159 @@ public final class EventBusBuilder<T extends EventBus> {
         return this;
     }
 
+    /**
+     * Sets the executor used by {@link EventBus#postAsync} to dispatch events off the posting thread. Each posted event
+     * is dispatched by a single task, so its {@link Listener}s are still invoked in priority order. The specified
+     * executor may be {@code null}, indicating that {@link EventBus#postAsync} should dispatch on the calling thread.
+     *
+     * @param executor The executor
+     * @return This builder
+     * @since 3.2.0
+     */
+    public @NotNull EventBusBuilder<T> setAsyncExecutor(@Nullable Executor executor) {
+        this.asyncExecutor = executor;
+        return this;
+    }
+
+    /**
+     * Bounds the number of events which {@link EventBus#postAsync} may queue for the async executor. Once the queue is
+     * full, the {@link OverflowPolicy} of an event type decides what happens to its posted events. {@link Coalescing}
+     * events take a single place in the queue per coalescing key, as an event which replaces a queued event doesn't
+     * need a place of its own. The capacity has no effect without an {@link #setAsyncExecutor async executor}.
+     *
+     * @param capacity The maximum number of queued events, or {@code 0} to queue events without a bound
+     * @return This builder
+     * @since 3.2.0
+     */
+    public @NotNull EventBusBuilder<T> setAsyncQueueCapacity(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Async queue capacity must not be negative: " + capacity);
+        }
+        this.asyncQueueCapacity = capacity;
+        return this;
+    }
+
+    /**
+     * Sets the {@link OverflowPolicy} of the event types without a policy of their own. The default policy is
+     * {@link OverflowPolicy#BLOCK}.
+     *
+     * @param policy The overflow policy
+     * @return This builder
+     * @see #setAsyncQueueCapacity(int)
+     * @since 3.2.0
+     */
+    public @NotNull EventBusBuilder<T> setOverflowPolicy(@NotNull OverflowPolicy policy) {
+        Objects.requireNonNull(policy);
+        this.overflowPolicy = policy;
+        return this;
+    }
+
+    /**
+     * Sets the {@link OverflowPolicy} of the specified event type and its subtypes. An event uses the policy of the
+     * nearest type in its hierarchy which has one, starting with its own class, so a policy set for a subtype overrides
+     * the policy of its supertypes. {@link Object} is always the farthest type.
+     *
+     * @param type   The event type
+     * @param policy The overflow policy
+     * @return This builder
+     * @see #setAsyncQueueCapacity(int)
+     * @since 3.2.0
+     */
+    public @NotNull EventBusBuilder<T> setOverflowPolicy(@NotNull Class<?> type, @NotNull OverflowPolicy policy) {
+        Objects.requireNonNull(type);
+        Objects.requireNonNull(policy);
+        this.overflowPolicies.put(type, policy);
+        return this;
+    }
+
+    /**
+     * Adds the specified classes to the event types that are known ahead of time. The {@link EventBus} creates the
+     * {@link ListenerList}s for these types when it is constructed, and sizes its internal table to fit them, so
+     * that the first {@link EventBus#post} of each type doesn't need to take a lock.
+     *
+     * @param types The event classes
+     * @return This builder
+     * @throws IllegalArgumentException When the bus is built, if a type isn't a valid event type
+     * @since 3.2.0
+     */
+    public @NotNull EventBusBuilder<T> addEventTypes(@NotNull Class<?>... types) {
+        for (Class<?> type : types) {
+            this.eventTypes.add(Objects.requireNonNull(type));
+        }
+        return this;
+    }
+
+    /**
+     * Enables parallel dispatch, which invokes consecutive {@link Listener#isParallel() parallel} {@link Listener}s
+     * with the same priority concurrently on the specified pool. Listeners with different priorities are still invoked
+     * in priority order. The specified pool may be {@code null}, indicating that parallel listeners should be invoked
+     * sequentially, which is the default.
+     *
+     * @param pool The pool
+     * @return This builder
+     * @see EventDispatcher#parallel
+     * @since 3.2.0
+     */
+    public @NotNull EventBusBuilder<T> setParallelPool(@Nullable ForkJoinPool pool) {
+        this.parallelPool = pool;
+        return this;
+    }
+
+    /**
+     * Adds the specified classes to the event types whose {@link Listener}s are all treated as
+     * {@link Listener#isParallel() parallel}, including the listeners of their subtypes. This has no effect unless a
+     * {@link #setParallelPool parallel pool} is set.
+     *
+     * @param types The event classes
+     * @return This builder
+     * @since 3.2.0
+     */
+    public @NotNull EventBusBuilder<T> addParallelEventTypes(@NotNull Class<?>... types) {
+        for (Class<?> type : types) {
+            this.parallelEventTypes.add(Objects.requireNonNull(type));
+        }
+        return this;
+    }
+
+    /**
+     * Registers an executor which {@link Listener}s can be {@link Listener#withExecutor bound to} by name. When an event
+     * is posted, the listeners of each executor are handed to it as a single task, unless the event is posted from a
+     * task that the bus has handed to the executor, in which case they are invoked inline.
+     *
+     * @param name     The name of the executor
+     * @param executor The executor
+     * @return This builder
+     * @see Subscribe#executor()
+     * @since 3.2.0
+     */
+    public @NotNull EventBusBuilder<T> addExecutor(@NotNull String name, @NotNull Executor executor) {
+        Objects.requireNonNull(name);
+        Objects.requireNonNull(executor);
+        this.executors.put(name, executor);
+        this.executorThreads.remove(name);
+        return this;
+    }
+
+    /**
+     * Registers an executor which {@link Listener}s can be {@link Listener#withExecutor bound to} by name, along with a
+     * check for whether the current thread belongs to it, such as a render thread check. The listeners of the executor
+     * are invoked inline when an event is posted from one of its threads, and are handed to it as a single task
+     * otherwise.
+     *
+     * @param name             The name of the executor
+     * @param executor         The executor
+     * @param isExecutorThread Returns whether the current thread belongs to the executor
+     * @return This builder
+     * @see Subscribe#executor()
+     * @since 3.2.0
+     */
+    public @NotNull EventBusBuilder<T> addExecutor(@NotNull String name, @NotNull Executor executor,
+                                                   @NotNull BooleanSupplier isExecutorThread) {
+        this.addExecutor(name, executor);
+        this.executorThreads.put(name, Objects.requireNonNull(isExecutorThread));
+        return this;
+    }
+
     /**
      * Causes this builder to create an {@link EventBus} which implements {@link AttachableEventBus}.
      *
@@ -149,6 +351,38 @@ public final class EventBusBuilder<T extends EventBus> {
         return (EventBusBuilder<AttachableEventBus>) this;
     }
 
+    /**
+     * Causes this builder to create a {@link RingBufferEventManager}, which queues posted events in a ring buffer with
+     * the specified capacity until they are drained. Can't be combined with {@link #setAttachable()}.
+     *
+     * @param capacity The number of slots in the buffer, which must be a power of two
+     * @return This builder
+     * @throws IllegalArgumentException If the capacity isn't a positive power of two
+     * @since 3.2.0
+     */
+    @SuppressWarnings("unchecked")
+    public @NotNull EventBusBuilder<RingBufferEventManager> setRingBuffer(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring buffer capacity must be a positive power of two: " + capacity);
+        }
+        this.ringBufferCapacity = capacity;
+        return (EventBusBuilder<RingBufferEventManager>) this;
+    }
+
+    /**
+     * Sets how threads wait on a {@link RingBufferEventManager}, both when posting to a full buffer and in
+     * {@link RingBufferEventManager#drainBlocking()}. The default strategy is {@link WaitStrategy#parking()}.
+     *
+     * @param strategy The wait strategy
+     * @return This builder
+     * @since 3.2.0
+     */
+    public @NotNull EventBusBuilder<T> setWaitStrategy(@NotNull WaitStrategy strategy) {
+        Objects.requireNonNull(strategy);
+        this.waitStrategy = strategy;
+        return this;
+    }
+
     /**
      * Returns a newly constructed {@link EventBus} instance using this builder.
      *
@@ -157,6 +391,12 @@ public final class EventBusBuilder<T extends EventBus> {
     @SuppressWarnings("unchecked")
     public @NotNull T build() {
         Objects.requireNonNull(this.name);
+        if (this.ringBufferCapacity > 0) {
+            if (this.attachable) {
+                throw new IllegalStateException("A ring buffer event bus can't be attachable");
+            }
+            return (T) new RingBufferEventManager(this);
+        }
         return this.attachable
             ? (T) new AttachableEventManager(this)
             : (T) new EventManager(this);
@@ -186,6 +426,22 @@ public final class EventBusBuilder<T extends EventBus> {
         return this.superListeners;
     }
 
+    /**
+     * Returns {@code true} if weak subscribers are enabled
+     * @since 3.2.0
+     */
+    public boolean isWeakSubscribers() {
+        return this.weakSubscribers;
+    }
+
+    /**
+     * Returns {@code true} if metrics are enabled
+     * @since 3.2.0
+     */
+    public boolean isMetrics() {
+        return this.metrics;
+    }
+
     /**
      * Returns an optional containing the exception handler, or {@link Optional#empty()} if none
      * @since 3.0.0
@@ -202,6 +458,86 @@ public final class EventBusBuilder<T extends EventBus> {
         return this.listenerListFactory;
     }
 
+    /**
+     * Returns an optional containing the async executor, or {@link Optional#empty()} if none
+     * @since 3.2.0
+     */
+    public Optional<Executor> getAsyncExecutor() {
+        return Optional.ofNullable(this.asyncExecutor);
+    }
+
+    /**
+     * Returns the async queue capacity, or {@code 0} if the async queue is unbounded
+     * @since 3.2.0
+     */
+    public int getAsyncQueueCapacity() {
+        return this.asyncQueueCapacity;
+    }
+
+    /**
+     * Returns the overflow policy of the event types without a policy of their own
+     * @since 3.2.0
+     */
+    public @NotNull OverflowPolicy getOverflowPolicy() {
+        return this.overflowPolicy;
+    }
+
+    /**
+     * Returns the overflow policies, by event type
+     * @since 3.2.0
+     */
+    public @NotNull @UnmodifiableView Map<Class<?>, OverflowPolicy> getOverflowPolicies() {
+        return Collections.unmodifiableMap(this.overflowPolicies);
+    }
+
+    /**
+     * Returns an optional containing the parallel pool, or {@link Optional#empty()} if parallel dispatch is disabled
+     * @since 3.2.0
+     */
+    public Optional<ForkJoinPool> getParallelPool() {
+        return Optional.ofNullable(this.parallelPool);
+    }
+
+    /**
+     * Returns the event types whose listeners are all parallel
+     * @since 3.2.0
+     */
+    public @NotNull @UnmodifiableView List<Class<?>> getParallelEventTypes() {
+        return Collections.unmodifiableList(this.parallelEventTypes);
+    }
+
+    /**
+     * Returns the executors, by name
+     * @since 3.2.0
+     */
+    public @NotNull @UnmodifiableView Map<String, Executor> getExecutors() {
+        return Collections.unmodifiableMap(this.executors);
+    }
+
+    /**
+     * Returns the checks for whether the current thread belongs to an executor, by executor name
+     * @since 3.2.0
+     */
+    public @NotNull @UnmodifiableView Map<String, BooleanSupplier> getExecutorThreads() {
+        return Collections.unmodifiableMap(this.executorThreads);
+    }
+
+    /**
+     * Returns the ring buffer capacity, or {@code 0} if the ring buffer is disabled
+     * @since 3.2.0
+     */
+    public int getRingBufferCapacity() {
+        return this.ringBufferCapacity;
+    }
+
+    /**
+     * Returns the wait strategy
+     * @since 3.2.0
+     */
+    public @NotNull WaitStrategy getWaitStrategy() {
+        return this.waitStrategy;
+    }
+
     /**
      * Returns the discovery strategies
      * @since 3.0.0
@@ -209,4 +545,12 @@ public final class EventBusBuilder<T extends EventBus> {
     public @NotNull @UnmodifiableView List<ListenerDiscoveryStrategy> getDiscoveryStrategies() {
         return Collections.unmodifiableList(this.discoveryStrategies);
     }
+
+    /**
+     * Returns the known event types
+     * @since 3.2.0
+     */
+    public @NotNull @UnmodifiableView List<Class<?>> getEventTypes() {
+        return Collections.unmodifiableList(this.eventTypes);
+    }
 }
@@ -1,18 +1,38 @@
 package dev.bat.alpinefork.bus;
 
 import dev.bat.alpinefork.listener.*;
-import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import dev.bat.alpinefork.event.Cancellable;
+import dev.bat.alpinefork.event.Coalescing;
+import dev.bat.alpinefork.event.EventPool;
 import dev.bat.alpinefork.event.Events;
+import dev.bat.alpinefork.event.Poolable;
 import dev.bat.alpinefork.event.dispatch.EventDispatcher;
+import dev.bat.alpinefork.event.dispatch.Handoffs;
+import dev.bat.alpinefork.listener.discovery.ListenerCandidate;
 import dev.bat.alpinefork.listener.discovery.ListenerDiscoveryStrategy;
+import dev.bat.alpinefork.metrics.EventBusMetrics;
 import dev.bat.alpinefork.util.Util;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -32,17 +52,62 @@ public class EventManager implements EventBus {
     private final ConcurrentHashMap<Subscriber, List<Listener<?>>> subscriberListenerCache;
 
     /**
-     * Map containing all event classes and the currently subscribed listeners.
+     * Equivalent of {@link #subscriberListenerCache} used when weak subscribers are enabled, in which case the keys
+     * are compared by identity. When a subscriber is garbage collected, its key is enqueued in
+     * {@link #staleSubscribers}, and its listeners are removed on the next post or
+     * {@link #expungeStaleSubscribers() housekeeping} call. Both fields are {@code null} if weak subscribers are disabled.
+     */
+    private final ConcurrentHashMap<WeakSubscriber, List<Listener<?>>> weakSubscriberCache;
+    private final ReferenceQueue<Subscriber> staleSubscribers;
+
+    /**
+     * Cache containing the listener candidates found by the discovery strategies for each {@link Subscriber} class.
+     * This allows new instances of an already seen class to skip discovery entirely, leaving only the bind step.
+     */
+    private final ClassValue<List<ListenerCandidate<?>>> candidateCache;
+
+    /**
+     * Table containing all event classes and the currently subscribed listeners.
+     */
+    private final EventTypeTable activeListeners;
+    /**
+     * Guards the creation of listener lists, and the changes to them, so that each list becoming empty or non-empty
+     * is seen by exactly one change.
      */
-    private volatile Event2ListenersMap activeListeners;
     private final Object activeListenersWriteLock;
 
+    /**
+     * Callbacks run when the list of an event type becomes empty or non-empty.
+     */
+    private final CopyOnWriteArrayList<Runnable> interestListeners;
+
+    /**
+     * The events queued by {@link #postDeferred}.
+     */
+    private final DeferredQueue deferred;
+
+    /**
+     * The {@link Coalescing} events which have been queued by {@link #postAsync}, or {@code null} if there is no
+     * async executor.
+     */
+    private final @Nullable Coalescer asyncCoalescer;
+
+    /**
+     * The bounded queue of the other events posted by {@link #postAsync}, or {@code null} if there is no async executor
+     * or the queue is unbounded.
+     */
+    private final @Nullable AsyncQueue asyncQueue;
+
     // Settings specified through EventBusBuilder
     protected final String name;
     protected final boolean parentDiscovery;
+    protected final boolean superListeners;
     protected final List<ListenerDiscoveryStrategy> discoveryStrategies;
     protected final EventDispatcher eventDispatcher;
     protected final ListenerListFactory listenerListFactory;
+    protected final @Nullable Executor asyncExecutor;
+    protected final @Nullable EventBusMetrics metrics;
+    protected final Set<String> executorNames;
 
     public EventManager(@NotNull String name) {
         this(new EventBusBuilder<>().setName(name));
@@ -52,27 +117,73 @@ public class EventManager implements EventBus {
         Objects.requireNonNull(builder);
 
         this.subscriberListenerCache = new ConcurrentHashMap<>();
-        this.activeListeners = new Event2ListenersMap();
+        if (builder.isWeakSubscribers()) {
+            this.weakSubscriberCache = new ConcurrentHashMap<>();
+            this.staleSubscribers = new ReferenceQueue<>();
+        } else {
+            this.weakSubscriberCache = null;
+            this.staleSubscribers = null;
+        }
+        this.candidateCache = new ClassValue<List<ListenerCandidate<?>>>() {
+            @SuppressWarnings("unchecked")
+            @Override
+            protected List<ListenerCandidate<?>> computeValue(Class<?> type) {
+                return EventManager.this.findCandidates((Class<? extends Subscriber>) type);
+            }
+        };
         this.activeListenersWriteLock = new Object();
+        this.activeListeners = new EventTypeTable(
+            this.activeListenersWriteLock,
+            Math.max(16, builder.getEventTypes().size())
+        );
+        this.interestListeners = new CopyOnWriteArrayList<>();
+        this.deferred = new DeferredQueue();
 
         // Copy settings from builder
         this.name = builder.getName();
         this.parentDiscovery = builder.isParentDiscovery();
-        this.eventDispatcher = builder.getExceptionHandler()
-            .map(EventDispatcher::withExceptionHandler)
-            .orElseGet(EventDispatcher::fastEventDispatcher);
+        this.superListeners = builder.isSuperListeners();
+        final EventDispatcher dispatcher = builder.getParallelPool()
+            .map(pool -> EventDispatcher.parallel(pool, builder.getExceptionHandler().orElse(null), builder.getParallelEventTypes()))
+            .orElseGet(() -> builder.getExceptionHandler()
+                .map(EventDispatcher::withExceptionHandler)
+                .orElseGet(EventDispatcher::fastEventDispatcher));
+        this.executorNames = new HashSet<>(builder.getExecutors().keySet());
+        this.eventDispatcher = this.executorNames.isEmpty()
+            ? dispatcher
+            : EventDispatcher.withExecutors(dispatcher, builder.getExecutors(), builder.getExecutorThreads());
         this.discoveryStrategies = new ArrayList<>(builder.getDiscoveryStrategies());
+        this.asyncExecutor = builder.getAsyncExecutor().orElse(null);
+        this.asyncQueue = this.asyncExecutor != null && builder.getAsyncQueueCapacity() > 0
+            ? new AsyncQueue(builder.getAsyncQueueCapacity(), this.asyncExecutor, this::dispatch, this::dispatchSlot,
+                builder.getOverflowPolicy(), builder.getOverflowPolicies())
+            : null;
+        // Each new slot takes a single place in the bounded queue, however many events replace its event
+        this.asyncCoalescer = this.asyncExecutor == null ? null
+            : this.asyncQueue != null ? new Coalescer(this.asyncQueue::submitSlot, true)
+            : new Coalescer(slot -> this.asyncExecutor.execute(() -> this.dispatchSlot(slot)), true);
+
+        this.metrics = builder.isMetrics() ? new EventBusMetrics() : null;
 
-        final ListenerListFactory factory = builder.getListenerListFactory();
+        // Route Event types by phase and direction, then index Keyed types by key, beneath the metrics so each type is
+        // only counted once
+        final ListenerListFactory keyed = ListenerListFactory.keyed(builder.getListenerListFactory());
+        final ListenerListFactory routed = ListenerListFactory.routed(keyed);
+        final ListenerListFactory factory = this.metrics != null ? this.metrics.wrap(routed) : routed;
 
         // Wrap the factory in ListenerGroup if superListeners is enabled
-        if (builder.isSuperListeners()) {
+        if (this.superListeners) {
             this.listenerListFactory = new ListenerListFactory() {
                 @SuppressWarnings("unchecked")
                 @Override
                 public <T> @NotNull ListenerList<T> create(Class<T> cls) {
-                    ListenerGroup<T> group = new ListenerGroup<>(factory.create(cls));
+                    // Groups share the write lock, as creating a group links it to the existing groups
+                    ListenerGroup<T> group = new ListenerGroup<>(factory.create(cls), EventManager.this.activeListenersWriteLock);
                     EventManager.this.activeListeners.forEach((activeTarget, activeGroup) -> {
+                        // Types without listeners share the empty list, which isn't linked to anything
+                        if (activeGroup == ListenerList.empty()) {
+                            return;
+                        }
                         // Link target to inherited types
                         if (activeTarget.isAssignableFrom(cls)) {
                             group.addChild((ListenerGroup<? super T>) activeGroup);
@@ -88,6 +199,9 @@ public class EventManager implements EventBus {
         } else {
             this.listenerListFactory = factory;
         }
+
+        // Create the lists for the known event types up front
+        builder.getEventTypes().forEach(this::getOrCreateListenerList);
     }
 
     @Override
@@ -97,34 +211,286 @@ public class EventManager implements EventBus {
 
     @Override
     public void subscribe(@NotNull Subscriber subscriber) {
-        this.subscriberListenerCache.computeIfAbsent(subscriber, this::getListeners).forEach(this::subscribe);
+        this.batch(batch -> batch.subscribe(subscriber));
     }
 
     @Override
     public <T> void subscribe(@NotNull Listener<T> listener) {
-        this.getOrCreateListenerList(listener.getTarget()).add(listener);
+        this.checkExecutor(listener);
+        final ListenerList<T> list = this.getOrCreateListenerList(listener.getTarget());
+        final boolean interestChanged;
+        // Check for the transition together with the change, or a concurrent change to the type could hide it
+        synchronized (this.activeListenersWriteLock) {
+            final boolean wasEmpty = list.isEmpty();
+            interestChanged = list.add(listener) && wasEmpty;
+        }
+        if (interestChanged) {
+            this.notifyInterestChanged();
+        }
     }
 
     @Override
     public void unsubscribe(@NotNull Subscriber subscriber) {
-        final List<Listener<?>> subscriberListeners = this.subscriberListenerCache.get(subscriber);
-        if (subscriberListeners != null) {
-            subscriberListeners.forEach(this::unsubscribe);
-        }
+        this.batch(batch -> batch.unsubscribe(subscriber));
     }
 
     @Override
     public <T> void unsubscribe(@NotNull Listener<T> listener) {
         final ListenerList<T> list = this.activeListeners.get(listener.getTarget());
-        if (list != null) {
-            list.remove(listener);
+        if (list == null) {
+            return;
+        }
+        final boolean interestChanged;
+        synchronized (this.activeListenersWriteLock) {
+            interestChanged = list.remove(listener) && list.isEmpty();
+        }
+        if (interestChanged) {
+            this.notifyInterestChanged();
         }
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The changes are grouped by event type, and each listener list receives a single
+     * {@link ListenerList#update update}. Changes to different event types are applied one type at a time.
+     */
+    @Override
+    public void batch(@NotNull Consumer<? super SubscriptionBatch> changes) {
+        final Batch batch = new Batch();
+        changes.accept(batch);
+        batch.apply();
+    }
+
     @Override
     public <T> void post(@NotNull T event) {
-        this.getOrCreateListenerList((Class<T>) event.getClass()).post(event, this.eventDispatcher);
+        this.dispatch(event);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If a listener with an {@link Listener#getExecutor() executor} receives the event, the event is only released
+     * once every such listener has been invoked, possibly after this method has returned. The returned cancelled state
+     * then only reflects the listeners which were invoked on the calling thread.
+     */
+    @Override
+    public <T extends Poolable> boolean post(@NotNull T event, @NotNull EventPool<? super T> pool) {
+        if (this.executorNames.isEmpty()) {
+            return EventBus.super.post(event, pool);
+        }
+        return this.dispatchPooled(event, pool);
+    }
+
+    /**
+     * Dispatches a pooled event, and releases it once the listeners handed to executors are done with it.
+     */
+    <T extends Poolable> boolean dispatchPooled(T event, EventPool<? super T> pool) {
+        if (this.executorNames.isEmpty()) {
+            try {
+                this.dispatch(event);
+                return event instanceof Cancellable && ((Cancellable) event).isCancelled();
+            } finally {
+                pool.release(event);
+            }
+        }
+        final Handoffs handoffs = Handoffs.begin(() -> pool.release(event));
+        try {
+            this.dispatch(event);
+            // Read before ending, as the event may be released by the last handoff as soon as tracking has ended
+            return event instanceof Cancellable && ((Cancellable) event).isCancelled();
+        } finally {
+            handoffs.end();
+        }
+    }
+
+    /**
+     * Dispatches an event to the listeners of this bus on the calling thread, and then {@link #forward forwards} it.
+     * Events which have already been queued by {@link #postDeferred} or {@link #postAsync} are dispatched through this
+     * method rather than {@link #post}, which subclasses such as {@link RingBufferEventManager} override to queue
+     * events again.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> void dispatch(T event) {
+        if (this.staleSubscribers != null) {
+            this.expungeStaleSubscribers();
+        }
+        this.getPostListenerList((Class<T>) event.getClass()).post(event, this.eventDispatcher);
+        this.forward(event);
+    }
+
+    /**
+     * Called after an event has been dispatched to the listeners of this bus, including events which were queued by
+     * {@link #postDeferred} or {@link #postAsync}. Does nothing by default.
+     *
+     * @param event The dispatched event
+     * @param <T>   The event type
+     * @since 3.2.0
+     */
+    protected <T> void forward(@NotNull T event) {}
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Event types which have never been subscribed to share an empty listener list, so checking them is as fast as
+     * posting to them.
+     */
+    @Override
+    public <T> void post(@NotNull Class<T> eventType, @NotNull Supplier<? extends T> supplier) {
+        if (!this.getPostListenerList(eventType).isEmpty()) {
+            this.post(supplier.get());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This doesn't create a listener list for the type if it hasn't been posted or subscribed to yet.
+     */
+    @Override
+    public boolean hasListeners(@NotNull Class<?> eventType) {
+        final ListenerList<?> list = this.activeListeners.get(eventType);
+        if (list != null) {
+            // With super listeners, the list of a type also contains the listeners of its supertypes
+            return !list.isEmpty();
+        }
+        if (this.superListeners) {
+            for (Class<?> type : Util.flattenHierarchy(eventType)) {
+                final ListenerList<?> superList = this.activeListeners.get(type);
+                if (superList != null && !superList.isEmpty()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void addInterestListener(@NotNull Runnable listener) {
+        this.interestListeners.add(Objects.requireNonNull(listener));
+    }
+
+    @Override
+    public void removeInterestListener(@NotNull Runnable listener) {
+        this.interestListeners.remove(listener);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Each thread queues its events in its own lock-free queue, so threads don't contend with each other.
+     * {@link Coalescing} events replace the queued event with the same class and key, if there is one.
+     */
+    @Override
+    public <T> void postDeferred(@NotNull T event) {
+        this.deferred.add(Objects.requireNonNull(event));
+    }
+
+    @Override
+    public int drainDeferred(long nanosBudget) {
+        return this.deferred.drain(nanosBudget, this::dispatch);
+    }
+
+    /**
+     * Returns the number of events which have been queued by {@link #postDeferred}, but not yet posted.
+     *
+     * @return The number of queued events
+     * @since 3.2.0
+     */
+    public int getDeferredCount() {
+        return this.deferred.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If an async executor is set, {@link Coalescing} events replace the event with the same class and key which is
+     * waiting for the executor, if there is one, and share its future. If the async queue is
+     * {@link EventBusBuilder#setAsyncQueueCapacity bounded}, events are handled by the {@link OverflowPolicy} of their
+     * type once the queue is full, and the future of a dropped event is cancelled. A coalescing event only takes a place
+     * in the queue if it doesn't replace a waiting event.
+     */
+    @Override
+    public <T> @NotNull CompletableFuture<Void> postAsync(@NotNull T event) {
+        if (this.asyncExecutor == null) {
+            return EventBus.super.postAsync(event);
+        }
+        if (event instanceof Coalescing) {
+            // The future of a replaced event completes once the event which replaced it has been dispatched
+            return this.asyncCoalescer.offer((Coalescing) event).future();
+        }
+        if (this.asyncQueue != null) {
+            return this.asyncQueue.submit(event);
+        }
+        // Run the entire dispatch as a single task, so that priority order is kept for this event
+        return CompletableFuture.runAsync(() -> this.dispatch(event), this.asyncExecutor);
+    }
+
+    /**
+     * Returns the number of events which have been queued by {@link #postAsync}, but not yet dispatched. This is
+     * always {@code 0} if the async queue is unbounded.
+     *
+     * @return The number of queued events
+     * @since 3.2.0
+     */
+    public int getAsyncQueueDepth() {
+        return this.asyncQueue != null ? this.asyncQueue.size() : 0;
+    }
+
+    /**
+     * Returns the number of events posted by {@link #postAsync} which have been dropped by the
+     * {@link OverflowPolicy#DROP_NEWEST} and {@link OverflowPolicy#DROP_OLDEST} policies.
+     *
+     * @return The number of dropped events
+     * @since 3.2.0
+     */
+    public long getAsyncDropCount() {
+        return this.asyncQueue != null ? this.asyncQueue.getDropped() : 0;
+    }
+
+    /**
+     * Returns the number of events of exactly the specified class posted by {@link #postAsync} which have been dropped
+     * by the {@link OverflowPolicy#DROP_NEWEST} and {@link OverflowPolicy#DROP_OLDEST} policies.
+     *
+     * @param type The event class
+     * @return The number of dropped events of the class
+     * @since 3.2.0
+     */
+    public long getAsyncDropCount(@NotNull Class<?> type) {
+        return this.asyncQueue != null ? this.asyncQueue.getDropped(type) : 0;
+    }
+
+    private void dispatchSlot(Coalescer.Slot slot) {
+        try {
+            this.dispatch(slot.take());
+            slot.complete(null);
+        } catch (Throwable cause) {
+            slot.complete(cause);
+        }
+    }
+
+    @Override
+    public void expungeStaleSubscribers() {
+        if (this.staleSubscribers == null) {
+            return;
+        }
+        Reference<? extends Subscriber> ref;
+        while ((ref = this.staleSubscribers.poll()) != null) {
+            final List<Listener<?>> listeners = this.weakSubscriberCache.remove(ref);
+            if (listeners != null) {
+                this.batch(batch -> listeners.forEach(batch::unsubscribe));
+            }
+        }
+    }
+
+    /**
+     * Returns the metrics collected by this bus, if they were enabled with {@link EventBusBuilder#setMetrics()}.
+     *
+     * @return The metrics, or {@link Optional#empty()}
+     * @since 3.2.0
+     */
+    public @NotNull Optional<EventBusMetrics> getMetrics() {
+        return Optional.ofNullable(this.metrics);
     }
 
     @Override
@@ -132,16 +498,45 @@ public class EventManager implements EventBus {
         return "EventManager{name='" + this.name + "'}";
     }
 
+    /**
+     * Returns the listeners of the specified subscriber, binding them if {@code create} is {@code true} and the
+     * subscriber hasn't been subscribed before.
+     */
+    private @Nullable List<Listener<?>> getSubscriberListeners(Subscriber subscriber, boolean create) {
+        if (this.weakSubscriberCache != null) {
+            return create
+                ? this.weakSubscriberCache.computeIfAbsent(new WeakSubscriber(subscriber, this.staleSubscribers), this::getWeakListeners)
+                : this.weakSubscriberCache.get(new WeakSubscriber(subscriber, null));
+        }
+        return create
+            ? this.subscriberListenerCache.computeIfAbsent(subscriber, this::getListeners)
+            : this.subscriberListenerCache.get(subscriber);
+    }
+
     private List<Listener<?>> getListeners(Subscriber subscriber) {
-        // TODO: Per-class candidate caching
+        return Collections.unmodifiableList(
+            this.candidateCache.get(subscriber.getClass()).stream()
+                // Bind the subscriber instance to each candidate to its Listener instances
+                .flatMap(candidate -> candidate.bind(subscriber))
+                .collect(Collectors.toList())
+        );
+    }
 
+    private List<Listener<?>> getWeakListeners(WeakSubscriber subscriber) {
+        final Subscriber instance = Objects.requireNonNull(subscriber.get());
+        return Collections.unmodifiableList(
+            this.candidateCache.get(instance.getClass()).stream()
+                .flatMap(candidate -> candidate.bindWeak(subscriber))
+                .collect(Collectors.toList())
+        );
+    }
+
+    private List<ListenerCandidate<?>> findCandidates(Class<? extends Subscriber> subscriberClass) {
         return Collections.unmodifiableList(
             // Get all super-classes of 'subscriber' that inherit Subscriber (if 'parentDiscovery' is enabled)
-            this.getSubscriberHierarchy(subscriber.getClass())
+            this.getSubscriberHierarchy(subscriberClass)
                 // Apply each discovery strategy to each class, and use flatMap to create a stream of candidates
                 .flatMap(cls -> this.discoveryStrategies.stream().flatMap(strategy -> strategy.findAll(cls)))
-                // Bind the subscriber instance to each candidate to its Listener instances
-                .flatMap(candidate -> candidate.bind(subscriber))
                 .collect(Collectors.toList())
         );
     }
@@ -156,31 +551,63 @@ public class EventManager implements EventBus {
             .map(c -> (Class<? extends Subscriber>) c);
     }
 
+    /**
+     * Runs the {@link #addInterestListener interest listeners}, after the list of an event type has become empty or
+     * non-empty. With super listeners, the lists of its subtypes can only have changed if the list of the type itself
+     * has, so checking the list of the type is enough.
+     */
+    protected void notifyInterestChanged() {
+        for (Runnable listener : this.interestListeners) {
+            listener.run();
+        }
+    }
+
+    /**
+     * Returns the list to post events of the specified type to. Unlike {@link #getOrCreateListenerList}, this doesn't
+     * create a list for a type without any listeners, but stores the {@link ListenerList#empty() empty list} for it
+     * instead, which is replaced once a listener is subscribed.
+     */
+    private <T> ListenerList<T> getPostListenerList(Class<T> target) {
+        final ListenerList<T> existing = this.activeListeners.get(target);
+        if (existing != null) {
+            return existing;
+        }
+        synchronized (this.activeListenersWriteLock) {
+            final ListenerList<T> list = this.activeListeners.get(target);
+            if (list != null) {
+                return list;
+            }
+            // Validate the event type, throwing an IllegalArgumentException if it is invalid
+            Util.catchAndRethrow(() -> Events.validateEventType(target), IllegalArgumentException::new);
+
+            // With super listeners, the type needs its own group if any of its supertypes may have listeners
+            final ListenerList<T> newList = this.superListeners && this.hasSuperGroup(target)
+                ? this.listenerListFactory.create(target)
+                : ListenerList.empty();
+            this.activeListeners.put(target, newList);
+            return newList;
+        }
+    }
+
     private <T> ListenerList<T> getOrCreateListenerList(Class<T> target) {
         // This method of initialization results in much faster dispatch than 'computeIfAbsent'
         // It also guarantees that only one thread can call 'listenerListFactory.create(...)' at a time
         final ListenerList<T> existing = this.activeListeners.get(target);
-        if (existing != null) {
+        if (existing != null && existing != ListenerList.empty()) {
             return existing;
         }
         synchronized (this.activeListenersWriteLock) {
             // Fetch the list again, as it could've been initialized since the lock was released.
             final ListenerList<T> list = this.activeListeners.get(target);
-            if (list == null) {
+            if (list == null || list == ListenerList.empty()) {
                 // Validate the event type, throwing an IllegalArgumentException if it is invalid
                 Util.catchAndRethrow(() -> Events.validateEventType(target), IllegalArgumentException::new);
 
                 final ListenerList<T> newList = this.listenerListFactory.create(target);
-
-                // If insertion of a new key will require a rehash, then clone the map and reassign the field.
-                if (this.activeListeners.needsRehash()) {
-                    final Event2ListenersMap newMap = this.activeListeners.clone();
-                    newMap.put(target, newList);
-                    this.activeListeners = newMap;
-                } else {
-                    this.activeListeners.put(target, newList);
+                this.activeListeners.put(target, newList);
+                if (this.superListeners) {
+                    this.replaceEmptySubtypes(target);
                 }
-
                 return newList;
             } else {
                 return list;
@@ -188,27 +615,146 @@ public class EventManager implements EventBus {
         }
     }
 
+    /**
+     * Throws an {@link IllegalArgumentException} if the listener is bound to an executor which isn't registered.
+     */
+    private void checkExecutor(Listener<?> listener) {
+        final String executor = listener.getExecutor();
+        if (executor != null && !this.executorNames.contains(executor)) {
+            throw new IllegalArgumentException("No executor is registered with the name " + executor);
+        }
+    }
+
+    /**
+     * Returns whether any supertype of the specified type has a group. Must be called while holding the write lock.
+     */
+    private boolean hasSuperGroup(Class<?> target) {
+        for (Class<?> type : Util.flattenHierarchy(target)) {
+            final ListenerList<?> list = this.activeListeners.get(type);
+            if (list != null && list != ListenerList.empty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Replaces the empty lists of the subtypes of the specified type with groups, which receive the listeners of the
+     * type. Must be called while holding the write lock.
+     */
+    @SuppressWarnings("unchecked")
+    private void replaceEmptySubtypes(Class<?> target) {
+        final List<Class<?>> subtypes = new ArrayList<>();
+        this.activeListeners.forEach((type, list) -> {
+            if (list == ListenerList.empty() && target.isAssignableFrom(type)) {
+                subtypes.add(type);
+            }
+        });
+        for (Class<?> type : subtypes) {
+            this.activeListeners.put((Class<Object>) type, this.listenerListFactory.create((Class<Object>) type));
+        }
+    }
+
     public static @NotNull EventBusBuilder<EventBus> builder() {
         return new EventBusBuilder<>();
     }
 
-    private static final class Event2ListenersMap extends Reference2ObjectOpenHashMap<Class<?>, ListenerList<?>> {
+    /**
+     * The changes collected by {@link #batch}.
+     */
+    private final class Batch implements SubscriptionBatch {
+
+        /**
+         * The changes to each event type, mapping each listener to whether it is added. Only the last change to a
+         * listener is kept.
+         */
+        private final Map<Class<?>, Map<Listener<?>, Boolean>> changes = new LinkedHashMap<>();
+
+        @Override
+        public void subscribe(@NotNull Subscriber subscriber) {
+            Objects.requireNonNull(EventManager.this.getSubscriberListeners(subscriber, true)).forEach(this::subscribe);
+        }
+
+        @Override
+        public <T> void subscribe(@NotNull Listener<T> listener) {
+            EventManager.this.checkExecutor(listener);
+            this.change(listener, true);
+        }
+
+        @Override
+        public void unsubscribe(@NotNull Subscriber subscriber) {
+            final List<Listener<?>> listeners = EventManager.this.getSubscriberListeners(subscriber, false);
+            if (listeners != null) {
+                listeners.forEach(this::unsubscribe);
+            }
+        }
+
+        @Override
+        public <T> void unsubscribe(@NotNull Listener<T> listener) {
+            this.change(listener, false);
+        }
+
+        private void change(Listener<?> listener, boolean add) {
+            final Map<Listener<?>, Boolean> typeChanges = this.changes.computeIfAbsent(listener.getTarget(), type -> new LinkedHashMap<>());
+            // Move the listener to the end, so listeners with equal priority are added in the order of their last change
+            typeChanges.remove(listener);
+            typeChanges.put(listener, add);
+        }
 
         @SuppressWarnings("unchecked")
-        private <T> ListenerList<T> get(final Class<T> target) {
-            return (ListenerList<T>) super.get(target);
+        private void apply() {
+            boolean interestChanged = false;
+            for (Map.Entry<Class<?>, Map<Listener<?>, Boolean>> entry : this.changes.entrySet()) {
+                final Class<Object> type = (Class<Object>) entry.getKey();
+                final List<Listener<Object>> added = new ArrayList<>();
+                final List<Listener<Object>> removed = new ArrayList<>();
+                entry.getValue().forEach((listener, add) -> (add ? added : removed).add((Listener<Object>) listener));
+                // Lists are only created for types which receive listeners
+                final ListenerList<Object> list = added.isEmpty()
+                    ? EventManager.this.activeListeners.get(type)
+                    : EventManager.this.getOrCreateListenerList(type);
+                if (list != null) {
+                    synchronized (EventManager.this.activeListenersWriteLock) {
+                        final boolean wasEmpty = list.isEmpty();
+                        list.update(added, removed);
+                        interestChanged |= wasEmpty != list.isEmpty();
+                    }
+                }
+            }
+            // Only notify once, after all types have been updated
+            if (interestChanged) {
+                EventManager.this.notifyInterestChanged();
+            }
         }
+    }
 
-        /**
-         * @return {@code true} if the next insertion of a new key will require a rehash.
-         */
-        private boolean needsRehash() {
-            return this.size >= this.maxFill;
+    /**
+     * A weak reference to a subscriber, which is equal to other references to the same instance while it's reachable.
+     */
+    private static final class WeakSubscriber extends WeakReference<Subscriber> {
+
+        private final int hash;
+
+        private WeakSubscriber(Subscriber subscriber, ReferenceQueue<Subscriber> queue) {
+            super(subscriber, queue);
+            this.hash = System.identityHashCode(subscriber);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
         }
 
         @Override
-        public Event2ListenersMap clone() {
-            return (Event2ListenersMap) super.clone();
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof WeakSubscriber)) {
+                return false;
+            }
+            final Subscriber subscriber = this.get();
+            return subscriber != null && subscriber == ((WeakSubscriber) obj).get();
         }
     }
 }
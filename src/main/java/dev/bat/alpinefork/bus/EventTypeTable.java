@@ -0,0 +1,99 @@
+package dev.bat.alpinefork.bus;
+
+import dev.bat.alpinefork.listener.ListenerList;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * The table of {@link ListenerList}s used by {@link EventManager}. Each event class is given a dense {@code int} id,
+ * which is cached in a {@link ClassValue}, and the lists are stored in an array indexed by that id. Looking up the
+ * list for an event class is therefore a {@link ClassValue#get} followed by an array load. The array is replaced by a
+ * modified copy on every {@link #put}, so readers never observe a partially written table or list. Lists are expected
+ * to be put far less often than they are looked up.
+ * <p>
+ * Ids are only meaningful to the table that assigned them. All modifications must be made while holding the lock
+ * which was passed to the constructor.
+ *
+ * @author Bat
+ * @since 3.2.0
+ */
+final class EventTypeTable {
+
+    private final Object lock;
+    private final ClassValue<Integer> ids;
+
+    /**
+     * The ids that have been assigned, guarded by {@link #lock}. {@link ClassValue#computeValue} may be invoked more
+     * than once for the same class, so this ensures that each class is only ever assigned a single id.
+     */
+    private final Reference2IntOpenHashMap<Class<?>> assigned;
+    private Class<?>[] types;
+    private volatile ListenerList<?>[] lists;
+
+    EventTypeTable(Object lock, int expectedTypes) {
+        this.lock = lock;
+        this.ids = new ClassValue<Integer>() {
+            @Override
+            protected Integer computeValue(Class<?> type) {
+                return EventTypeTable.this.assignId(type);
+            }
+        };
+        this.assigned = new Reference2IntOpenHashMap<>(expectedTypes);
+        this.assigned.defaultReturnValue(-1);
+        this.types = new Class<?>[expectedTypes];
+        this.lists = new ListenerList<?>[expectedTypes];
+    }
+
+    /**
+     * Returns the list for the specified event class, or {@code null} if none has been {@link #put}.
+     */
+    @SuppressWarnings("unchecked")
+    <T> ListenerList<T> get(Class<T> type) {
+        final int id = this.ids.get(type);
+        final ListenerList<?>[] lists = this.lists;
+        return id < lists.length ? (ListenerList<T>) lists[id] : null;
+    }
+
+    /**
+     * Sets the list for the specified event class. Must be called while holding the lock.
+     */
+    <T> void put(Class<T> type, ListenerList<T> list) {
+        final int id = this.ids.get(type);
+        final ListenerList<?>[] current = this.lists;
+        final int length = id < current.length ? current.length : Math.max(id + 1, current.length + (current.length >> 1));
+        if (length != this.types.length) {
+            this.types = Arrays.copyOf(this.types, length);
+        }
+        this.types[id] = type;
+        // Always write to a copy, as a racing get() could otherwise read the list from the published array without a
+        // happens-before edge, and observe it partially constructed. The volatile write publishes the copy safely.
+        final ListenerList<?>[] lists = Arrays.copyOf(current, length);
+        lists[id] = list;
+        this.lists = lists;
+    }
+
+    /**
+     * Invokes the specified action for each event class which has a list. Must be called while holding the lock.
+     */
+    void forEach(BiConsumer<Class<?>, ListenerList<?>> action) {
+        final ListenerList<?>[] lists = this.lists;
+        for (int id = 0; id < lists.length; id++) {
+            if (lists[id] != null) {
+                action.accept(this.types[id], lists[id]);
+            }
+        }
+    }
+
+    private int assignId(Class<?> type) {
+        synchronized (this.lock) {
+            int id = this.assigned.getInt(type);
+            if (id < 0) {
+                id = this.assigned.size();
+                this.assigned.put(type, id);
+            }
+            return id;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package dev.bat.alpinefork.bus;
+
+/**
+ * Determines what {@link EventBus#postAsync} does with an event when the bounded async queue of an {@link EventManager}
+ * is full. A policy is chosen per event type with {@link EventBusBuilder#setOverflowPolicy(Class, OverflowPolicy)}.
+ *
+ * @author Bat
+ * @since 3.2.0
+ * @see EventBusBuilder#setAsyncQueueCapacity(int)
+ */
+public enum OverflowPolicy {
+
+    /**
+     * The posting thread waits until the queue has room for the event. When posting from a thread which is
+     * dispatching an async event of the same bus, the event is dispatched on that thread instead, as waiting could
+     * otherwise deadlock the executor.
+     */
+    BLOCK,
+
+    /**
+     * The posted event is dropped, and its future is cancelled.
+     */
+    DROP_NEWEST,
+
+    /**
+     * The oldest queued event is dropped to make room for the posted event, and the future of the dropped event is
+     * cancelled.
+     */
+    DROP_OLDEST,
+
+    /**
+     * The posted event is dispatched on the posting thread, which slows the producer down to the rate at which events
+     * are dispatched.
+     */
+    CALLER_RUNS
+}
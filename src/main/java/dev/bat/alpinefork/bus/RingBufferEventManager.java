@@ -0,0 +1,303 @@
+package dev.bat.alpinefork.bus;
+
+import dev.bat.alpinefork.event.Cancellable;
+import dev.bat.alpinefork.event.EventPool;
+import dev.bat.alpinefork.event.Poolable;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementation of {@link EventManager} which queues posted events in a preallocated ring buffer, and dispatches them
+ * when they are {@link #drain() drained}. Any number of threads may post concurrently, and claim slots in the buffer
+ * without locking. Events are dispatched in the order their slots were claimed, by whichever thread drains the buffer,
+ * through the same listener lists as a regular {@link EventManager}. This allows, for example, IO threads to post
+ * events which are then handled in batches on a game loop thread.
+ * <p>
+ * When the buffer is full, posting threads wait for a slot according to the {@link WaitStrategy} configured with
+ * {@link EventBusBuilder#setWaitStrategy}. Only one thread may drain the buffer at a time. Events posted by a listener
+ * while the buffer is being drained on the same thread are dispatched immediately, since queueing them could otherwise
+ * wait on a buffer that only that thread can empty.
+ * <p>
+ * As queued events are dispatched later, {@link #post(Cancellable)} can't report whether they were cancelled, and
+ * {@link #postAsync} queues events in the buffer rather than handing them to the async executor, with futures which
+ * complete once the events have been drained.
+ *
+ * @author Bat
+ * @since 3.2.0
+ */
+public class RingBufferEventManager extends EventManager {
+
+    private final Object[] entries;
+    /**
+     * The pool of each queued event that was posted with {@link #post(Poolable, EventPool)}, or {@code null}.
+     */
+    private final EventPool<?>[] pools;
+    /**
+     * The future of each queued event that was posted with {@link #postAsync}, or {@code null}.
+     */
+    private final CompletableFuture<?>[] futures;
+    private final int mask;
+    private final int shift;
+
+    /**
+     * The round in which each slot was last published, where the round of a sequence is {@code sequence >>> shift}.
+     * A slot is readable for a sequence once its value matches the round of that sequence.
+     */
+    private final AtomicIntegerArray published;
+
+    /**
+     * The last sequence claimed by a producer, and the last sequence dispatched by the consumer.
+     */
+    private final AtomicLong claimed;
+    private final AtomicLong consumed;
+
+    private final AtomicBoolean draining;
+    private volatile Thread consumer;
+    protected final WaitStrategy waitStrategy;
+
+    RingBufferEventManager(@NotNull EventBusBuilder<?> builder) {
+        super(builder);
+        final int capacity = builder.getRingBufferCapacity();
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring buffer capacity must be a positive power of two: " + capacity);
+        }
+        this.entries = new Object[capacity];
+        this.pools = new EventPool<?>[capacity];
+        this.futures = new CompletableFuture<?>[capacity];
+        this.mask = capacity - 1;
+        this.shift = Integer.numberOfTrailingZeros(capacity);
+        this.published = new AtomicIntegerArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            this.published.set(i, -1);
+        }
+        this.claimed = new AtomicLong(-1);
+        this.consumed = new AtomicLong(-1);
+        this.draining = new AtomicBoolean();
+        this.waitStrategy = builder.getWaitStrategy();
+    }
+
+    /**
+     * Queues the specified event, waiting for a free slot if the buffer is full. The event is dispatched by the next
+     * call to one of the drain methods.
+     *
+     * @param event The event
+     */
+    @Override
+    public <T> void post(@NotNull T event) {
+        if (this.consumer == Thread.currentThread()) {
+            super.post(event);
+            return;
+        }
+        this.publish(event, null, null);
+    }
+
+    /**
+     * Queues the specified event, waiting for a free slot if the buffer is full. The event is dispatched by the next
+     * call to one of the drain methods.
+     *
+     * @param event The event
+     * @return {@code false}, as the event hasn't been dispatched yet, unless the event was posted by a listener on
+     * the draining thread
+     */
+    @Override
+    public boolean post(@NotNull Cancellable event) {
+        if (this.consumer == Thread.currentThread()) {
+            return super.post(event);
+        }
+        this.publish(event, null, null);
+        return false;
+    }
+
+    /**
+     * Queues the specified event, waiting for a free slot if the buffer is full. The event is released to the pool
+     * after it has been dispatched by the next call to one of the drain methods.
+     *
+     * @param event The event
+     * @param pool  The pool the event was acquired from
+     * @return {@code false}, as the event hasn't been dispatched yet, unless the event was posted by a listener on
+     * the draining thread
+     */
+    @Override
+    public <T extends Poolable> boolean post(@NotNull T event, @NotNull EventPool<? super T> pool) {
+        if (this.consumer == Thread.currentThread()) {
+            return super.post(event, pool);
+        }
+        this.publish(event, pool, null);
+        return false;
+    }
+
+    /**
+     * Queues the specified event, waiting for a free slot if the buffer is full. The async executor isn't used, as the
+     * event is dispatched by the next call to one of the drain methods instead.
+     *
+     * @param event The event
+     * @return A future which completes once the event has been drained and dispatched to all listeners, or completes
+     * exceptionally if dispatch threw an exception
+     */
+    @Override
+    public <T> @NotNull CompletableFuture<Void> postAsync(@NotNull T event) {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        if (this.consumer == Thread.currentThread()) {
+            try {
+                super.post(event);
+                future.complete(null);
+            } catch (Throwable cause) {
+                future.completeExceptionally(cause);
+            }
+            return future;
+        }
+        this.publish(event, null, future);
+        return future;
+    }
+
+    private void publish(Object event, EventPool<?> pool, CompletableFuture<?> future) {
+        final int capacity = this.entries.length;
+        long sequence;
+        int attempt = 0;
+        while (true) {
+            final long current = this.claimed.get();
+            sequence = current + 1;
+            if (sequence - capacity > this.consumed.get()) {
+                // The slot still holds an event which hasn't been dispatched
+                this.waitStrategy.idle(attempt++);
+                continue;
+            }
+            if (this.claimed.compareAndSet(current, sequence)) {
+                break;
+            }
+        }
+
+        final int index = (int) sequence & this.mask;
+        this.entries[index] = event;
+        this.pools[index] = pool;
+        this.futures[index] = future;
+        this.published.lazySet(index, (int) (sequence >>> this.shift));
+    }
+
+    /**
+     * Dispatches every event which has been published, in a single batch.
+     *
+     * @return The number of events that were dispatched, or {@code 0} if another thread is already draining
+     * @since 3.2.0
+     */
+    public int drain() {
+        return this.drain(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Dispatches up to {@code max} events which have been published, in a single batch.
+     *
+     * @param max The maximum number of events to dispatch
+     * @return The number of events that were dispatched, or {@code 0} if another thread is already draining
+     * @since 3.2.0
+     */
+    public int drain(int max) {
+        if (!this.draining.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            return this.drain0(max);
+        } finally {
+            this.draining.set(false);
+        }
+    }
+
+    /**
+     * Waits until at least one event has been published according to the configured {@link WaitStrategy}, then
+     * dispatches every published event in a single batch. Intended to be called in a loop by a dedicated consumer
+     * thread.
+     *
+     * @return The number of events that were dispatched, or {@code 0} if another thread is already draining
+     * @throws InterruptedException If the thread is interrupted while waiting
+     * @since 3.2.0
+     */
+    public int drainBlocking() throws InterruptedException {
+        if (!this.draining.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            final long next = this.consumed.get() + 1;
+            final int index = (int) next & this.mask;
+            final int round = (int) (next >>> this.shift);
+            int attempt = 0;
+            while (this.published.get(index) != round) {
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                this.waitStrategy.idle(attempt++);
+            }
+            return this.drain0(Integer.MAX_VALUE);
+        } finally {
+            this.draining.set(false);
+        }
+    }
+
+    /**
+     * Returns the number of events which have been claimed by producers, but not yet dispatched.
+     *
+     * @since 3.2.0
+     */
+    public int size() {
+        return (int) (this.claimed.get() - this.consumed.get());
+    }
+
+    private int drain0(int max) {
+        final long first = this.consumed.get() + 1;
+        // Find the end of the contiguous range of published slots
+        final long claimed = this.claimed.get();
+        long last = first - 1;
+        while (last < claimed && last - first + 1 < max) {
+            final long sequence = last + 1;
+            if (this.published.get((int) sequence & this.mask) != (int) (sequence >>> this.shift)) {
+                break;
+            }
+            last = sequence;
+        }
+        if (last < first) {
+            return 0;
+        }
+
+        this.consumer = Thread.currentThread();
+        long sequence = first;
+        try {
+            for (; sequence <= last; sequence++) {
+                final int index = (int) sequence & this.mask;
+                final Object event = this.entries[index];
+                final EventPool<?> pool = this.pools[index];
+                final CompletableFuture<?> future = this.futures[index];
+                this.entries[index] = null;
+                this.pools[index] = null;
+                this.futures[index] = null;
+                try {
+                    if (pool != null) {
+                        this.dispatchEntry(event, pool);
+                    } else {
+                        super.post(event);
+                    }
+                } catch (Throwable cause) {
+                    if (future != null) {
+                        future.completeExceptionally(cause);
+                    }
+                    throw cause;
+                }
+                if (future != null) {
+                    future.complete(null);
+                }
+            }
+        } finally {
+            this.consumer = null;
+            // Release the dispatched slots, including the slot of an event whose listener threw
+            this.consumed.set(Math.min(sequence, last));
+        }
+        return (int) (last - first + 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Poolable> void dispatchEntry(Object event, EventPool<T> pool) {
+        this.dispatchPooled((T) event, pool);
+    }
+}
@@ -0,0 +1,75 @@
+package dev.bat.alpinefork.bus;
+
+import dev.bat.alpinefork.listener.Listener;
+import dev.bat.alpinefork.listener.Subscriber;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Consumer;
+
+/**
+ * A set of subscription changes which is applied to an {@link EventBus} as a whole, once the function passed to
+ * {@link EventBus#batch} returns. If a {@link Listener} is both subscribed and unsubscribed within a batch, the last
+ * change wins, as if the changes had been applied one at a time.
+ *
+ * @author Bat
+ * @see EventBus#batch(Consumer)
+ * @since 3.2.0
+ */
+public interface SubscriptionBatch {
+
+    /**
+     * Adds the Listeners of the specified {@link Subscriber} to the batch, as {@link EventBus#subscribe(Subscriber)}
+     * would.
+     *
+     * @param subscriber The subscriber to be added
+     * @since 3.2.0
+     */
+    void subscribe(@NotNull Subscriber subscriber);
+
+    /**
+     * Adds the specified {@link Listener} to the batch.
+     *
+     * @param listener The individual listener to subscribe
+     * @param <T>      The target event type
+     * @since 3.2.0
+     */
+    <T> void subscribe(@NotNull Listener<T> listener);
+
+    /**
+     * Adds the removal of the Listeners of the specified {@link Subscriber} to the batch, as
+     * {@link EventBus#unsubscribe(Subscriber)} would.
+     *
+     * @param subscriber The subscriber to be unsubscribed
+     * @since 3.2.0
+     */
+    void unsubscribe(@NotNull Subscriber subscriber);
+
+    /**
+     * Adds the removal of the specified {@link Listener} to the batch.
+     *
+     * @param listener The individual listener to unsubscribe
+     * @param <T>      The target event type
+     * @since 3.2.0
+     */
+    <T> void unsubscribe(@NotNull Listener<T> listener);
+
+    /**
+     * Calls {@link #subscribe(Subscriber)} on all the specified subscribers.
+     *
+     * @param subscribers An iterable of subscribers
+     * @since 3.2.0
+     */
+    default void subscribeAll(@NotNull Iterable<? extends Subscriber> subscribers) {
+        subscribers.forEach(this::subscribe);
+    }
+
+    /**
+     * Calls {@link #unsubscribe(Subscriber)} on all the specified subscribers.
+     *
+     * @param subscribers An iterable of subscribers
+     * @since 3.2.0
+     */
+    default void unsubscribeAll(@NotNull Iterable<? extends Subscriber> subscribers) {
+        subscribers.forEach(this::unsubscribe);
+    }
+}
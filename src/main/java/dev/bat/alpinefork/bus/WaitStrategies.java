@@ -0,0 +1,37 @@
+package dev.bat.alpinefork.bus;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * @author Bat
+ * @since 3.2.0
+ */
+enum WaitStrategies implements WaitStrategy {
+    BUSY_SPIN {
+        @Override
+        public void idle(int attempt) {
+        }
+    },
+    YIELDING {
+        @Override
+        public void idle(int attempt) {
+            if (attempt >= SPIN_TRIES) {
+                Thread.yield();
+            }
+        }
+    },
+    PARKING {
+        @Override
+        public void idle(int attempt) {
+            if (attempt >= SPIN_TRIES + YIELD_TRIES) {
+                LockSupport.parkNanos(PARK_NANOS);
+            } else if (attempt >= SPIN_TRIES) {
+                Thread.yield();
+            }
+        }
+    };
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final long PARK_NANOS = 100_000L;
+}
@@ -0,0 +1,55 @@
+package dev.bat.alpinefork.bus;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Determines how a thread waits on a {@link RingBufferEventManager}, either as a producer waiting for a free slot, or as
+ * a consumer waiting for a published event in {@link RingBufferEventManager#drainBlocking()}. The strategy is invoked
+ * repeatedly until the condition is met.
+ *
+ * @author Bat
+ * @since 3.2.0
+ */
+@FunctionalInterface
+public interface WaitStrategy {
+
+    /**
+     * Called each time the condition being waited on is not met.
+     *
+     * @param attempt The number of times this method was previously called during the current wait
+     * @since 3.2.0
+     */
+    void idle(int attempt);
+
+    /**
+     * Returns a strategy which spins without yielding the CPU. This has the lowest latency, but occupies a core for as
+     * long as the thread waits, so it should only be used when every waiting thread has a core of its own.
+     *
+     * @return The busy-spin strategy
+     * @since 3.2.0
+     */
+    static @NotNull WaitStrategy busySpin() {
+        return WaitStrategies.BUSY_SPIN;
+    }
+
+    /**
+     * Returns a strategy which spins briefly, then calls {@link Thread#yield()}.
+     *
+     * @return The yielding strategy
+     * @since 3.2.0
+     */
+    static @NotNull WaitStrategy yielding() {
+        return WaitStrategies.YIELDING;
+    }
+
+    /**
+     * Returns a strategy which spins and yields briefly, then parks the thread for short periods. This is the default
+     * strategy, and uses little CPU while waiting at the cost of latency.
+     *
+     * @return The parking strategy
+     * @since 3.2.0
+     */
+    static @NotNull WaitStrategy parking() {
+        return WaitStrategies.PARKING;
+    }
+}
@@ -8,15 +8,21 @@ package dev.bat.alpinefork.event;
  */
 public class CancellableEvent implements Cancellable {
 
-    private boolean cancelled;
+    static final int CANCELLED = 1;
+
+    /**
+     * The packed state of this event. The lowest bit is the cancelled state, and the higher bits are used by
+     * {@link Event} for its phase and direction, so that all of its state is kept in a single field.
+     */
+    int state;
 
     @Override
     public void setCancelled(boolean cancel) {
-        this.cancelled = cancel;
+        this.state = cancel ? this.state | CANCELLED : this.state & ~CANCELLED;
     }
 
     @Override
     public boolean isCancelled() {
-        return this.cancelled;
+        return (this.state & CANCELLED) != 0;
     }
 }
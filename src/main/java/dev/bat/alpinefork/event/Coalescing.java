@@ -0,0 +1,28 @@
+package dev.bat.alpinefork.event;
+
+import dev.bat.alpinefork.bus.EventBus;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An event which only matters as the latest of its kind, such as a position update. When an event of a coalescing type
+ * is queued by {@link EventBus#postDeferred} or {@link EventBus#postAsync}, and an event of the same class with an
+ * {@link Object#equals equal} coalescing key is still waiting in the queue, the queued event is replaced by the newer
+ * one. The newer event takes over the queue position of the replaced event, so it is dispatched no later than the
+ * replaced event would have been.
+ * <p>
+ * The coalescing key of an event must not change while it is queued.
+ *
+ * @author Bat
+ * @since 3.2.0
+ */
+public interface Coalescing {
+
+    /**
+     * Returns the coalescing key of this event. Queued events are only replaced by events of the same class with an
+     * equal key.
+     *
+     * @return The key
+     * @since 3.2.0
+     */
+    @NotNull Object getCoalescingKey();
+}
@@ -0,0 +1,79 @@
+package dev.bat.alpinefork.event;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * @author Bat
+ * @since 3.2.0
+ */
+final class DebugEventPool<T extends Poolable> implements EventPool<T> {
+
+    private final Supplier<T> factory;
+    private final Consumer<? super T> handler;
+    private final ConcurrentLinkedQueue<Released<T>> released;
+
+    /**
+     * A weak reference to an otherwise unreachable object, which is cleared by the garbage collector. Each time it is
+     * found to be cleared, it is replaced and {@link #epoch} is incremented, so each epoch spans at least one collection.
+     */
+    private final AtomicReference<WeakReference<Object>> sentinel;
+    private final AtomicInteger epoch;
+
+    DebugEventPool(Supplier<T> factory, Consumer<? super T> handler) {
+        this.factory = Objects.requireNonNull(factory);
+        this.handler = Objects.requireNonNull(handler);
+        this.released = new ConcurrentLinkedQueue<>();
+        this.sentinel = new AtomicReference<>(new WeakReference<>(new Object()));
+        this.epoch = new AtomicInteger();
+    }
+
+    @Override
+    public @NotNull T acquire() {
+        this.check();
+        return this.factory.get();
+    }
+
+    @Override
+    public void release(@NotNull T event) {
+        event.reset();
+        this.released.add(new Released<>(event, this.epoch.get()));
+        this.check();
+    }
+
+    private void check() {
+        final WeakReference<Object> sentinel = this.sentinel.get();
+        if (sentinel.get() != null || !this.sentinel.compareAndSet(sentinel, new WeakReference<>(new Object()))) {
+            return;
+        }
+        final int epoch = this.epoch.incrementAndGet();
+        for (Iterator<Released<T>> it = this.released.iterator(); it.hasNext(); ) {
+            final Released<T> released = it.next();
+            final T event = released.get();
+            if (event == null) {
+                it.remove();
+            } else if (epoch - released.epoch >= 2) {
+                it.remove();
+                this.handler.accept(event);
+            }
+        }
+    }
+
+    private static final class Released<T> extends WeakReference<T> {
+
+        private final int epoch;
+
+        private Released(T event, int epoch) {
+            super(event);
+            this.epoch = epoch;
+        }
+    }
+}
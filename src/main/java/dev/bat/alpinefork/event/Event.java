@@ -1,33 +1,51 @@
 package dev.bat.alpinefork.event;
 
-import lombok.Getter;
-import lombok.Setter;
-
-import java.util.Optional;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Extendable class for listeners.
+ * <p>
+ * The cancelled state, phase and direction of an event are packed into a single {@code int} field. The phase and
+ * direction together form the {@link #getRoute() route} of the event, which the built-in listener lists use to only
+ * dispatch it to the listeners that have subscribed to that phase and direction.
  *
  * @author Bat
  */
+public abstract class Event extends CancellableEvent implements Poolable {
+
+    private static final EventPhase[] PHASES = EventPhase.values();
+    private static final EventDirection[] DIRECTIONS = EventDirection.values();
+
+    // Bits 1-2 hold the phase ordinal + 1, and bits 3-4 hold the direction ordinal + 1, with 0 meaning unset
+    private static final int PHASE_SHIFT = 1;
+    private static final int DIRECTION_SHIFT = 3;
+    private static final int PHASE_MASK = 0b11 << PHASE_SHIFT;
+    private static final int DIRECTION_MASK = 0b11 << DIRECTION_SHIFT;
+
+    public @Nullable EventPhase getPhase() {
+        final int phase = (this.state & PHASE_MASK) >>> PHASE_SHIFT;
+        return phase == 0 ? null : PHASES[phase - 1];
+    }
+
+    public void setPhase(@Nullable EventPhase phase) {
+        this.state = (this.state & ~PHASE_MASK) | (phase == null ? 0 : (phase.ordinal() + 1) << PHASE_SHIFT);
+    }
+
+    public @Nullable EventDirection getDir() {
+        final int dir = (this.state & DIRECTION_MASK) >>> DIRECTION_SHIFT;
+        return dir == 0 ? null : DIRECTIONS[dir - 1];
+    }
+
+    public void setDir(@Nullable EventDirection dir) {
+        this.state = (this.state & ~DIRECTION_MASK) | (dir == null ? 0 : (dir.ordinal() + 1) << DIRECTION_SHIFT);
+    }
 
-@Getter
-@Setter
-public abstract class Event extends CancellableEvent{
-    
-    private volatile EventPhase phase;
-    private volatile EventDirection dir;
-    
     private boolean isPhase(EventPhase expectedPhase) {
-        return Optional.ofNullable(phase).map(
-                p -> p == expectedPhase).orElse(false
-        );
+        return (this.state & PHASE_MASK) == (expectedPhase.ordinal() + 1) << PHASE_SHIFT;
     }
-    
+
     private boolean isDirection(EventDirection expectedDir) {
-        return Optional.ofNullable(dir).map(
-                d -> d == expectedDir).orElse(false
-        );
+        return (this.state & DIRECTION_MASK) == (expectedDir.ordinal() + 1) << DIRECTION_SHIFT;
     }
     
     public boolean isPre() {
@@ -44,5 +62,28 @@ public abstract class Event extends CancellableEvent{
     
     public boolean isOutgoing() {
         return isDirection(EventDirection.OUTGOING);}
+
+    /**
+     * Returns the route of this event, which is a number from {@code 0} to {@link Events#ROUTES} (exclusive) that
+     * identifies the combination of its phase and direction, including unset values.
+     *
+     * @return The route
+     * @see Events#getRoutes
+     * @since 3.2.0
+     */
+    public final int getRoute() {
+        return (this.state & (PHASE_MASK | DIRECTION_MASK)) >>> PHASE_SHIFT;
+    }
+
+    /**
+     * Clears the cancelled state, phase and direction of this event. Subclasses with their own state should override
+     * this, and call {@code super.reset()}.
+     *
+     * @since 3.2.0
+     */
+    @Override
+    public void reset() {
+        this.state = 0;
+    }
     
 }
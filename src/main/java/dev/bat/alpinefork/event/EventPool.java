@@ -0,0 +1,85 @@
+package dev.bat.alpinefork.event;
+
+import dev.bat.alpinefork.bus.EventBus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A pool of reusable event instances, which reduces allocations for event types that are posted at a high rate.
+ * Instances are taken from the pool with {@link #acquire()}, and are usually returned by posting them with
+ * {@link EventBus#post(Object, EventPool)}, which releases the instance once its dispatch has completed.
+ * <p>
+ * Listeners must not keep a reference to a pooled event after they return, since the instance will be reset and
+ * reused for another event. A {@link #debug debug pool} can be used to find listeners which do.
+ *
+ * @param <T> The event type
+ * @author Bat
+ * @since 3.2.0
+ */
+public interface EventPool<T extends Poolable> {
+
+    /**
+     * Returns an instance from the pool, or a newly created instance if the pool is empty.
+     *
+     * @return An event in its initial state
+     * @since 3.2.0
+     */
+    @NotNull T acquire();
+
+    /**
+     * {@link Poolable#reset() Resets} the specified event and returns it to the pool. The event must not be used by
+     * the caller afterwards. If the pool is full, the event is discarded.
+     *
+     * @param event The event
+     * @since 3.2.0
+     */
+    void release(@NotNull T event);
+
+    /**
+     * Creates a pool which keeps a separate set of instances for each thread, so that acquiring and releasing never
+     * contends. This suits events which are acquired and released on the same thread. Events released by a thread
+     * other than the one that acquired them are added to the pool of the releasing thread.
+     *
+     * @param factory  Creates new instances when the pool is empty
+     * @param capacity The maximum number of instances kept per thread
+     * @param <T>      The event type
+     * @return The pool
+     * @since 3.2.0
+     */
+    static <T extends Poolable> @NotNull EventPool<T> threadLocal(@NotNull Supplier<T> factory, int capacity) {
+        return new ThreadLocalEventPool<>(factory, capacity);
+    }
+
+    /**
+     * Creates a pool which is split into stripes, with each thread using the stripe selected by its id. Threads whose
+     * own stripe is empty take instances from the other stripes, so this suits events which are acquired on one thread
+     * and released on another, such as events posted to a {@link dev.bat.alpinefork.bus.RingBufferEventManager}.
+     *
+     * @param factory  Creates new instances when the pool is empty
+     * @param capacity The maximum number of instances kept in each stripe
+     * @param <T>      The event type
+     * @return The pool
+     * @since 3.2.0
+     */
+    static <T extends Poolable> @NotNull EventPool<T> striped(@NotNull Supplier<T> factory, int capacity) {
+        return new StripedEventPool<>(factory, capacity);
+    }
+
+    /**
+     * Creates a pool for debugging which never reuses instances. Released instances are tracked weakly, and each
+     * instance which is still reachable after two garbage collections following its release is passed to the
+     * specified handler, as a listener has most likely kept a reference to it. Instances which have been promoted to
+     * the old generation before being released may be reported as well.
+     *
+     * @param factory Creates new instances
+     * @param handler Invoked with each event that was retained after being released
+     * @param <T>     The event type
+     * @return The pool
+     * @since 3.2.0
+     */
+    static <T extends Poolable> @NotNull EventPool<T> debug(@NotNull Supplier<T> factory, @NotNull Consumer<? super T> handler) {
+        return new DebugEventPool<>(factory, handler);
+    }
+}
@@ -8,6 +8,7 @@ import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.lang.reflect.WildcardType;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Utility methods relating to Events.
@@ -17,8 +18,49 @@ import java.util.Objects;
  */
 public final class Events {
 
+    /**
+     * The number of distinct {@link Event#getRoute() routes}. Routes are numbered by {@code phase | direction << 2},
+     * where {@code phase} and {@code direction} are the ordinal of the value plus one, or {@code 0} if unset.
+     *
+     * @since 3.2.0
+     */
+    public static final int ROUTES = 12;
+
+    /**
+     * The mask of all routes, used for listeners which don't restrict the phase or direction.
+     *
+     * @since 3.2.0
+     */
+    public static final int ALL_ROUTES = (1 << ROUTES) - 1;
+
     private Events() {}
 
+    /**
+     * Returns the mask of the {@link Event#getRoute() routes} that a listener receives events from, given the phases
+     * and directions it is restricted to. An empty set places no restriction, and also matches events where the value
+     * is unset.
+     *
+     * @param phases     The accepted phases
+     * @param directions The accepted directions
+     * @return A mask where bit {@code i} is set if route {@code i} is received
+     * @since 3.2.0
+     */
+    public static int getRoutes(@NotNull Set<EventPhase> phases, @NotNull Set<EventDirection> directions) {
+        int mask = 0;
+        for (int phase = 0; phase <= EventPhase.values().length; phase++) {
+            if (!phases.isEmpty() && (phase == 0 || !phases.contains(EventPhase.values()[phase - 1]))) {
+                continue;
+            }
+            for (int direction = 0; direction <= EventDirection.values().length; direction++) {
+                if (!directions.isEmpty() && (direction == 0 || !directions.contains(EventDirection.values()[direction - 1]))) {
+                    continue;
+                }
+                mask |= 1 << (phase | direction << 2);
+            }
+        }
+        return mask;
+    }
+
     /**
      * Validates the specified type as a valid event type. In order for a type to be considered valid, it must be a
      * {@link Class} and pass the checks imposed by {@link #validateEventType(Class)}.
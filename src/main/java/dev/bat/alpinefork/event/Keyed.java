@@ -0,0 +1,24 @@
+package dev.bat.alpinefork.event;
+
+import dev.bat.alpinefork.listener.Listener;
+
+/**
+ * An event which carries an {@code int} key, such as the id of a packet. {@link Listener}s of a keyed event type may
+ * {@link Listener#withKeys declare keys}, in which case they only receive the events with one of those keys. The bus
+ * keeps an index of the listeners of each key, so posting an event never touches the listeners of other keys.
+ * <p>
+ * The key of an event must not change while it is being posted.
+ *
+ * @author Bat
+ * @since 3.2.0
+ */
+public interface Keyed {
+
+    /**
+     * Returns the key of this event.
+     *
+     * @return The key
+     * @since 3.2.0
+     */
+    int getKey();
+}
@@ -0,0 +1,20 @@
+package dev.bat.alpinefork.event;
+
+/**
+ * An event which can be recycled by an {@link EventPool}. Implementations must return the instance to the state of a
+ * newly constructed instance in {@link #reset()}, so that the next user of the instance can't observe the values set
+ * by the previous one.
+ *
+ * @author Bat
+ * @see EventPool
+ * @since 3.2.0
+ */
+public interface Poolable {
+
+    /**
+     * Restores the initial state of this event. Called by {@link EventPool#release} before the instance is reused.
+     *
+     * @since 3.2.0
+     */
+    void reset();
+}
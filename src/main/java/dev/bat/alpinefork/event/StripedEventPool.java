@@ -0,0 +1,74 @@
+package dev.bat.alpinefork.event;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * @author Bat
+ * @since 3.2.0
+ */
+final class StripedEventPool<T extends Poolable> implements EventPool<T> {
+
+    private final Supplier<T> factory;
+    private final int capacity;
+    private final ArrayDeque<T>[] stripes;
+    private final int mask;
+
+    StripedEventPool(Supplier<T> factory, int capacity) {
+        // Round the number of processors up to a power of two
+        this(factory, capacity, Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1)));
+    }
+
+    /**
+     * @param count The number of stripes, which must be a power of two
+     */
+    @SuppressWarnings("unchecked")
+    StripedEventPool(Supplier<T> factory, int capacity, int count) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative: " + capacity);
+        }
+        this.factory = Objects.requireNonNull(factory);
+        this.capacity = capacity;
+        this.stripes = new ArrayDeque[count];
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new ArrayDeque<>();
+        }
+        this.mask = count - 1;
+    }
+
+    @Override
+    public @NotNull T acquire() {
+        final int index = this.index();
+        // Events released on other threads land in their stripes, so take from those when this thread's stripe is empty
+        for (int i = 0; i <= this.mask; i++) {
+            final ArrayDeque<T> stripe = this.stripes[(index + i) & this.mask];
+            final T event;
+            synchronized (stripe) {
+                event = stripe.pollLast();
+            }
+            if (event != null) {
+                return event;
+            }
+        }
+        return this.factory.get();
+    }
+
+    @Override
+    public void release(@NotNull T event) {
+        event.reset();
+        final ArrayDeque<T> stripe = this.stripes[this.index()];
+        synchronized (stripe) {
+            if (stripe.size() < this.capacity) {
+                stripe.addLast(event);
+            }
+        }
+    }
+
+    private int index() {
+        final long id = Thread.currentThread().getId();
+        return (int) (id ^ (id >>> 32)) & this.mask;
+    }
+}
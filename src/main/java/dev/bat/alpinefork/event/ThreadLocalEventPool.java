@@ -0,0 +1,42 @@
+package dev.bat.alpinefork.event;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * @author Bat
+ * @since 3.2.0
+ */
+final class ThreadLocalEventPool<T extends Poolable> implements EventPool<T> {
+
+    private final Supplier<T> factory;
+    private final int capacity;
+    private final ThreadLocal<ArrayDeque<T>> pools;
+
+    ThreadLocalEventPool(Supplier<T> factory, int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative: " + capacity);
+        }
+        this.factory = Objects.requireNonNull(factory);
+        this.capacity = capacity;
+        this.pools = ThreadLocal.withInitial(ArrayDeque::new);
+    }
+
+    @Override
+    public @NotNull T acquire() {
+        final T event = this.pools.get().pollLast();
+        return event != null ? event : this.factory.get();
+    }
+
+    @Override
+    public void release(@NotNull T event) {
+        event.reset();
+        final ArrayDeque<T> pool = this.pools.get();
+        if (pool.size() < this.capacity) {
+            pool.addLast(event);
+        }
+    }
+}
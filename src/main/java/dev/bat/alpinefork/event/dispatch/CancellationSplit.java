@@ -0,0 +1,146 @@
+package dev.bat.alpinefork.event.dispatch;
+
+import dev.bat.alpinefork.event.Cancellable;
+import dev.bat.alpinefork.listener.Listener;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * A snapshot of sorted {@link Listener}s, split by {@link Listener#isReceiveCancelled()}, which allows a
+ * {@link Cancellable} event to skip every {@link Listener} that doesn't receive cancelled events once it has been
+ * cancelled. The cancelled state of the event is only checked before each of those {@link Listener}s. When it is found
+ * to be cancelled, dispatch continues in the {@link #getReceiving() receiving} array, which only contains the
+ * {@link Listener}s that still need to be invoked.
+ *
+ * @param <T> The event type
+ * @author Bat
+ * @see EventDispatcher#dispatch(Object, Cancellable, CancellationSplit)
+ * @since 3.2.0
+ */
+public final class CancellationSplit<T> {
+
+    private final Listener<T>[] listeners;
+    private final Listener<T>[] receiving;
+    private final int[] checkpoints;
+    private final int[] resume;
+
+    private CancellationSplit(Listener<T>[] listeners, Listener<T>[] receiving, int[] checkpoints, int[] resume) {
+        this.listeners = listeners;
+        this.receiving = receiving;
+        this.checkpoints = checkpoints;
+        this.resume = resume;
+    }
+
+    /**
+     * Returns all listeners, in order.
+     *
+     * @since 3.2.0
+     */
+    public @NotNull Listener<T>[] getListeners() {
+        return this.listeners;
+    }
+
+    /**
+     * Returns the listeners which receive cancelled events, in order.
+     *
+     * @since 3.2.0
+     */
+    public @NotNull Listener<T>[] getReceiving() {
+        return this.receiving;
+    }
+
+    /**
+     * Returns the ascending indices in {@link #getListeners()} of the listeners which don't receive cancelled events.
+     * The cancelled state of the event must be checked before invoking each of these listeners.
+     *
+     * @since 3.2.0
+     */
+    public @NotNull int[] getCheckpoints() {
+        return this.checkpoints;
+    }
+
+    /**
+     * Returns, for each checkpoint, the index in {@link #getReceiving()} to continue dispatching from if the event is
+     * found to be cancelled at that checkpoint.
+     *
+     * @since 3.2.0
+     */
+    public @NotNull int[] getResume() {
+        return this.resume;
+    }
+
+    /**
+     * Returns an iterator which performs the same checks as the built-in dispatchers. Used as a fallback for
+     * dispatchers which only implement {@link EventDispatcher#dispatch(Object, Iterator)}.
+     *
+     * @param cancellable The event being dispatched
+     * @return A new iterator
+     * @since 3.2.0
+     */
+    public @NotNull Iterator<Listener<T>> iterator(@NotNull Cancellable cancellable) {
+        return new Iterator<Listener<T>>() {
+            private Listener<T>[] array = CancellationSplit.this.listeners;
+            private int i = 0;
+            private int checkpoint = 0;
+
+            @Override
+            public boolean hasNext() {
+                final int[] checkpoints = CancellationSplit.this.checkpoints;
+                if (this.array != CancellationSplit.this.receiving
+                    && this.checkpoint < checkpoints.length && this.i == checkpoints[this.checkpoint]) {
+                    if (cancellable.isCancelled()) {
+                        this.array = CancellationSplit.this.receiving;
+                        this.i = CancellationSplit.this.resume[this.checkpoint];
+                    } else {
+                        this.checkpoint++;
+                    }
+                }
+                return this.i < this.array.length;
+            }
+
+            @Override
+            public Listener<T> next() {
+                return this.array[this.i++];
+            }
+        };
+    }
+
+    /**
+     * Creates a split for the first {@code length} listeners of the specified sorted array.
+     *
+     * @param listeners The listeners, which must not be modified afterwards
+     * @param length    The number of listeners
+     * @param <T>       The event type
+     * @return The split, or {@code null} if every listener receives cancelled events, in which case no split is needed
+     * @since 3.2.0
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> @Nullable CancellationSplit<T> of(@NotNull Listener<T>[] listeners, int length) {
+        int skipping = 0;
+        for (int i = 0; i < length; i++) {
+            if (!listeners[i].isReceiveCancelled()) {
+                skipping++;
+            }
+        }
+        if (skipping == 0) {
+            return null;
+        }
+
+        final Listener<T>[] receiving = (Listener<T>[]) new Listener[length - skipping];
+        final int[] checkpoints = new int[skipping];
+        final int[] resume = new int[skipping];
+        for (int i = 0, r = 0, c = 0; i < length; i++) {
+            if (listeners[i].isReceiveCancelled()) {
+                receiving[r++] = listeners[i];
+            } else {
+                checkpoints[c] = i;
+                resume[c++] = r;
+            }
+        }
+        final Listener<T>[] all = listeners.length == length ? listeners : Arrays.copyOf(listeners, length);
+        return new CancellationSplit<>(all, receiving, checkpoints, resume);
+    }
+}
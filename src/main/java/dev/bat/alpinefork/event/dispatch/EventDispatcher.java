@@ -1,11 +1,19 @@
 package dev.bat.alpinefork.event.dispatch;
 
+import dev.bat.alpinefork.event.Cancellable;
 import dev.bat.alpinefork.listener.Listener;
 import dev.bat.alpinefork.listener.ListenerExceptionHandler;
+import dev.bat.alpinefork.util.Util;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BooleanSupplier;
 
 /**
  * Dispatches an event to all Listeners of a given iterator.
@@ -28,6 +36,70 @@ public interface EventDispatcher {
      */
     <T> void dispatch(@NotNull T event, @NotNull Iterator<Listener<T>> listeners);
 
+    /**
+     * Dispatches the specified event to the first {@code length} Listeners of the specified array via
+     * {@link Listener#accept}. This is called by array-backed {@link dev.bat.alpinefork.listener.ListenerList}
+     * implementations, and should be overridden to dispatch without allocating. The default implementation wraps the
+     * array in an {@link Iterator} and calls {@link #dispatch(Object, Iterator)}, so custom dispatchers which only
+     * implement the iterator variant keep working.
+     *
+     * @param event     The event
+     * @param listeners The listeners to dispatch the event to, which must not be modified
+     * @param length    The number of listeners in the array to dispatch to
+     * @param <T>       The event type
+     * @since 3.2.0
+     */
+    default <T> void dispatch(@NotNull T event, @NotNull Listener<T>[] listeners, int length) {
+        this.dispatch(event, Util.arrayIterator(listeners, length));
+    }
+
+    /**
+     * Dispatches the specified event to all Listeners of the specified {@link ListenerInvoker}. This is called by
+     * {@link dev.bat.alpinefork.listener.ListenerList} implementations which keep a generated invoker for their
+     * current listeners. The default implementation dispatches to {@link ListenerInvoker#getListeners()} through
+     * {@link #dispatch(Object, Listener[], int)}, ignoring the generated code.
+     *
+     * @param event   The event
+     * @param invoker The invoker for the listeners to dispatch the event to
+     * @param <T>     The event type
+     * @since 3.2.0
+     */
+    default <T> void dispatch(@NotNull T event, @NotNull ListenerInvoker<T> invoker) {
+        final Listener<T>[] listeners = invoker.getListeners();
+        this.dispatch(event, listeners, listeners.length);
+    }
+
+    /**
+     * Dispatches the specified {@link Cancellable} event to the Listeners of the specified split, skipping the
+     * Listeners that don't {@link Listener#isReceiveCancelled() receive cancelled events} once the event has been
+     * cancelled. The default implementation dispatches through {@link CancellationSplit#iterator}.
+     *
+     * @param event       The event
+     * @param cancellable The event, as a {@link Cancellable}
+     * @param split       The listeners to dispatch the event to
+     * @param <T>         The event type
+     * @since 3.2.0
+     */
+    default <T> void dispatch(@NotNull T event, @NotNull Cancellable cancellable, @NotNull CancellationSplit<T> split) {
+        this.dispatch(event, split.iterator(cancellable));
+    }
+
+    /**
+     * Dispatches the specified event to the Listeners of the specified plan, evaluating each distinct filter at most
+     * once and skipping runs of Listeners whose filters reject the event. As with
+     * {@link #dispatch(Object, Cancellable, CancellationSplit)}, Listeners that don't receive cancelled events are
+     * skipped once a {@link Cancellable} event has been cancelled. The default implementation dispatches through
+     * {@link FilterPlan#iterator}, without memoizing the filters.
+     *
+     * @param event The event
+     * @param plan  The listeners to dispatch the event to
+     * @param <T>   The event type
+     * @since 3.2.0
+     */
+    default <T> void dispatch(@NotNull T event, @NotNull FilterPlan<T> plan) {
+        this.dispatch(event, plan.iterator(event));
+    }
+
     /**
      * Returns an optimized implementation of {@link EventDispatcher} which has no exception handling.
      *
@@ -51,5 +123,48 @@ public interface EventDispatcher {
     static @NotNull EventDispatcher withExceptionHandler(@NotNull ListenerExceptionHandler exceptionHandler) {
         return new ExceptionHandlingDispatcher(Objects.requireNonNull(exceptionHandler));
     }
+
+    /**
+     * Returns a new {@link EventDispatcher} which invokes consecutive {@link Listener#isParallel() parallel} Listeners
+     * with the same priority concurrently on the specified pool. Listeners with different priorities are still invoked
+     * in priority order, and each band of parallel Listeners completes before the next Listener is invoked. All
+     * Listeners of events whose type is a subtype of one of the specified event types are treated as parallel.
+     * <p>
+     * Cancellation is only checked at the start of each band. If an exception handler is specified, the exceptions
+     * thrown within a band are passed to it in Listener order once the band has completed, and the exceptions that it
+     * chooses to propagate are thrown together, with all but the first {@link Throwable#addSuppressed suppressed}. As
+     * with {@link #withExceptionHandler}, none of the remaining Listeners receive the event after an exception.
+     *
+     * @param pool             The pool to invoke parallel Listeners on
+     * @param exceptionHandler The exception handler, or {@code null} to propagate all exceptions
+     * @param eventTypes       The event types whose Listeners are all parallel
+     * @return The dispatcher
+     * @since 3.2.0
+     */
+    static @NotNull EventDispatcher parallel(@NotNull ForkJoinPool pool, @Nullable ListenerExceptionHandler exceptionHandler,
+                                             @NotNull Collection<Class<?>> eventTypes) {
+        return new ParallelDispatcher(Objects.requireNonNull(pool), exceptionHandler, eventTypes);
+    }
+
+    /**
+     * Returns a new {@link EventDispatcher} which invokes each Listener with an {@link Listener#getExecutor()
+     * executor} on the executor with that name. The Listeners without an executor, and those whose executor the
+     * posting thread belongs to, are invoked first by the specified dispatcher. The remaining Listeners are then handed
+     * to their executors as a single task per executor, which invokes them in priority order through the specified
+     * dispatcher.
+     * <p>
+     * The posting thread belongs to an executor while it runs a task handed to that executor, or if the check
+     * registered for the executor in {@code executorThreads} returns {@code true}.
+     *
+     * @param dispatcher      The dispatcher which invokes the Listeners, on the posting thread and on the executors
+     * @param executors       The executors, by name
+     * @param executorThreads The checks for whether the current thread belongs to an executor, by executor name
+     * @return The dispatcher
+     * @since 3.2.0
+     */
+    static @NotNull EventDispatcher withExecutors(@NotNull EventDispatcher dispatcher, @NotNull Map<String, Executor> executors,
+                                                  @NotNull Map<String, BooleanSupplier> executorThreads) {
+        return new ExecutorDispatcher(Objects.requireNonNull(dispatcher), executors, executorThreads);
+    }
 }
 
@@ -1,10 +1,13 @@
 package dev.bat.alpinefork.event.dispatch;
 
+import dev.bat.alpinefork.event.Cancellable;
 import dev.bat.alpinefork.listener.Listener;
 import dev.bat.alpinefork.listener.ListenerExceptionHandler;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * @author Brady
@@ -31,4 +34,94 @@ final class ExceptionHandlingDispatcher implements EventDispatcher {
             }
         }
     }
+
+    @Override
+    public <T> void dispatch(final @NotNull T event, final @NotNull Listener<T>[] listeners, final int length) {
+        int i = 0;
+        try {
+            for (; i < length; i++) {
+                listeners[i].accept(event);
+            }
+        } catch (Throwable cause) {
+            if (this.exceptionHandler.handleException(event, listeners[i], cause)) {
+                throw cause;
+            }
+        }
+    }
+
+    @Override
+    public <T> void dispatch(final @NotNull T event, final @NotNull ListenerInvoker<T> invoker) {
+        invoker.invoke(event, this.exceptionHandler);
+    }
+
+    @Override
+    public <T> void dispatch(final @NotNull T event, final @NotNull Cancellable cancellable, final @NotNull CancellationSplit<T> split) {
+        final Listener<T>[] listeners = split.getListeners();
+        final int[] checkpoints = split.getCheckpoints();
+        Listener<T> last = null;
+        try {
+            int i = 0;
+            for (int c = 0; c < checkpoints.length; c++) {
+                for (final int checkpoint = checkpoints[c]; i < checkpoint; i++) {
+                    (last = listeners[i]).accept(event);
+                }
+                if (cancellable.isCancelled()) {
+                    final Listener<T>[] receiving = split.getReceiving();
+                    for (int r = split.getResume()[c]; r < receiving.length; r++) {
+                        (last = receiving[r]).accept(event);
+                    }
+                    return;
+                }
+            }
+            for (; i < listeners.length; i++) {
+                (last = listeners[i]).accept(event);
+            }
+        } catch (Throwable cause) {
+            if (this.exceptionHandler.handleException(event, last, cause)) {
+                throw cause;
+            }
+        }
+    }
+
+    @Override
+    public <T> void dispatch(final @NotNull T event, final @NotNull FilterPlan<T> plan) {
+        final Listener<T>[] listeners = plan.getListeners();
+        final Consumer<T>[] bodies = plan.getBodies();
+        final int[][] filterIndices = plan.getFilterIndices();
+        final int[] runEnds = plan.getRunEnds();
+        final Predicate<? super T>[] filters = plan.getFilters();
+        final Cancellable cancellable = plan.isSkipsCancelled() && event instanceof Cancellable ? (Cancellable) event : null;
+        long tested = 0;
+        long passed = 0;
+        int i = 0;
+        try {
+            outer:
+            while (i < listeners.length) {
+                if (cancellable != null && !listeners[i].isReceiveCancelled() && cancellable.isCancelled()) {
+                    i++;
+                    continue;
+                }
+                for (final int index : filterIndices[i]) {
+                    final long bit = 1L << index;
+                    if ((tested & bit) == 0) {
+                        tested |= bit;
+                        if (filters[index].test(event)) {
+                            passed |= bit;
+                        }
+                    }
+                    if ((passed & bit) == 0) {
+                        i = runEnds[i];
+                        continue outer;
+                    }
+                }
+                bodies[i].accept(event);
+                i++;
+            }
+        } catch (Throwable cause) {
+            // A filter which throws is attributed to the first listener that tested it
+            if (this.exceptionHandler.handleException(event, listeners[i], cause)) {
+                throw cause;
+            }
+        }
+    }
 }
@@ -0,0 +1,209 @@
+package dev.bat.alpinefork.event.dispatch;
+
+import dev.bat.alpinefork.event.Cancellable;
+import dev.bat.alpinefork.listener.Listener;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.BooleanSupplier;
+
+/**
+ * An {@link EventDispatcher} which invokes each {@link Listener} with an {@link Listener#getExecutor() executor} on
+ * that executor. The listeners without an executor, and the listeners whose executor the posting thread belongs to,
+ * are invoked inline by the delegate first. The remaining listeners are then handed to their executors, with a single
+ * task per executor which invokes its listeners in priority order. Events without any such listeners are dispatched
+ * by the delegate directly.
+ * <p>
+ * The tasks of different executors are chained in priority order, with each task handing the event to the next
+ * executor once its listeners have been invoked. The listeners of one executor therefore never access the event
+ * concurrently with the listeners of another, and see whether it was cancelled by them. The posting thread returns
+ * once the first task has been handed off, so it must not modify the event afterwards, and {@link Handoffs} can be
+ * used to find out when the chain has completed.
+ *
+ * @author Bat
+ * @since 3.2.0
+ */
+final class ExecutorDispatcher implements EventDispatcher {
+
+    private final EventDispatcher delegate;
+    private final Map<String, Executor> executors;
+    private final Map<String, BooleanSupplier> executorThreads;
+
+    /**
+     * The name of the executor whose task is running on the current thread, if any.
+     */
+    private final ThreadLocal<String> current;
+
+    ExecutorDispatcher(EventDispatcher delegate, Map<String, Executor> executors,
+                       Map<String, BooleanSupplier> executorThreads) {
+        this.delegate = delegate;
+        this.executors = new HashMap<>(executors);
+        this.executorThreads = new HashMap<>(executorThreads);
+        this.current = new ThreadLocal<>();
+    }
+
+    @Override
+    public <T> void dispatch(final @NotNull T event, final @NotNull Iterator<Listener<T>> listeners) {
+        final List<Listener<T>> list = new ArrayList<>();
+        listeners.forEachRemaining(list::add);
+        @SuppressWarnings("unchecked")
+        final Listener<T>[] array = list.toArray(new Listener[0]);
+        this.dispatch(event, array, array.length);
+    }
+
+    @Override
+    public <T> void dispatch(final @NotNull T event, final @NotNull Listener<T>[] listeners, final int length) {
+        if (!hasExecutor(listeners, length)) {
+            this.delegate.dispatch(event, listeners, length);
+            return;
+        }
+        this.dispatchByExecutor(event, listeners, length);
+    }
+
+    @Override
+    public <T> void dispatch(final @NotNull T event, final @NotNull ListenerInvoker<T> invoker) {
+        final Listener<T>[] listeners = invoker.getListeners();
+        if (!hasExecutor(listeners, listeners.length)) {
+            this.delegate.dispatch(event, invoker);
+            return;
+        }
+        this.dispatchByExecutor(event, listeners, listeners.length);
+    }
+
+    @Override
+    public <T> void dispatch(final @NotNull T event, final @NotNull Cancellable cancellable, final @NotNull CancellationSplit<T> split) {
+        final Listener<T>[] listeners = split.getListeners();
+        if (!hasExecutor(listeners, listeners.length)) {
+            this.delegate.dispatch(event, cancellable, split);
+            return;
+        }
+        this.dispatchByExecutor(event, listeners, listeners.length);
+    }
+
+    @Override
+    public <T> void dispatch(final @NotNull T event, final @NotNull FilterPlan<T> plan) {
+        final Listener<T>[] listeners = plan.getListeners();
+        if (!hasExecutor(listeners, listeners.length)) {
+            this.delegate.dispatch(event, plan);
+            return;
+        }
+        this.dispatchByExecutor(event, listeners, listeners.length);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void dispatchByExecutor(T event, Listener<T>[] listeners, int length) {
+        final List<Listener<T>> inline = new ArrayList<>(length);
+        final Map<String, List<Listener<T>>> handoffs = new LinkedHashMap<>();
+        for (int i = 0; i < length; i++) {
+            final Listener<T> listener = listeners[i];
+            final String executor = listener.getExecutor();
+            if (executor == null || this.isExecutorThread(executor)) {
+                inline.add(listener);
+            } else {
+                handoffs.computeIfAbsent(executor, name -> new ArrayList<>()).add(listener);
+            }
+        }
+
+        this.dispatchSorted(event, inline.toArray(new Listener[0]));
+        if (handoffs.isEmpty()) {
+            return;
+        }
+        final List<Handoff<T>> chain = new ArrayList<>(handoffs.size());
+        handoffs.forEach((name, batch) -> {
+            final Executor executor = this.executors.get(name);
+            if (executor == null) {
+                throw new IllegalStateException("No executor is registered with the name " + name);
+            }
+            chain.add(new Handoff<>(name, executor, batch.toArray(new Listener[0])));
+        });
+        final Handoffs tracker = Handoffs.current();
+        if (tracker != null) {
+            tracker.add();
+        }
+        this.handOff(event, chain, 0, tracker);
+    }
+
+    /**
+     * Hands the listeners of the executor at {@code index} in the chain to that executor. Once they have been invoked,
+     * the task hands the event on to the next executor in the chain, so that the listeners of different executors
+     * never access the event concurrently, and observe each other's changes in priority order.
+     */
+    private <T> void handOff(T event, List<Handoff<T>> chain, int index, @Nullable Handoffs tracker) {
+        final Handoff<T> handoff = chain.get(index);
+        try {
+            handoff.executor.execute(() -> {
+                final String previous = this.current.get();
+                this.current.set(handoff.name);
+                try {
+                    this.dispatchSorted(event, handoff.listeners);
+                } finally {
+                    this.current.set(previous);
+                    if (index + 1 < chain.size()) {
+                        this.handOff(event, chain, index + 1, tracker);
+                    } else if (tracker != null) {
+                        tracker.complete();
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            // The rest of the chain will never run, so it can't hold on to the event
+            if (tracker != null) {
+                tracker.complete();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Dispatches to the specified sorted listeners, skipping the listeners that don't receive cancelled events once a
+     * {@link Cancellable} event has been cancelled.
+     */
+    private <T> void dispatchSorted(T event, Listener<T>[] listeners) {
+        if (listeners.length == 0) {
+            return;
+        }
+        final CancellationSplit<T> split = event instanceof Cancellable ? CancellationSplit.of(listeners, listeners.length) : null;
+        if (split != null) {
+            this.delegate.dispatch(event, (Cancellable) event, split);
+        } else {
+            this.delegate.dispatch(event, listeners, listeners.length);
+        }
+    }
+
+    private boolean isExecutorThread(String executor) {
+        if (executor.equals(this.current.get())) {
+            return true;
+        }
+        final BooleanSupplier check = this.executorThreads.get(executor);
+        return check != null && check.getAsBoolean();
+    }
+
+    private static boolean hasExecutor(Listener<?>[] listeners, int length) {
+        for (int i = 0; i < length; i++) {
+            if (listeners[i].getExecutor() != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Handoff<T> {
+
+        private final String name;
+        private final Executor executor;
+        private final Listener<T>[] listeners;
+
+        private Handoff(String name, Executor executor, Listener<T>[] listeners) {
+            this.name = name;
+            this.executor = executor;
+            this.listeners = listeners;
+        }
+    }
+}
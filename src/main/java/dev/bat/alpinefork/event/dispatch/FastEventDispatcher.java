@@ -1,9 +1,12 @@
 package dev.bat.alpinefork.event.dispatch;
 
+import dev.bat.alpinefork.event.Cancellable;
 import dev.bat.alpinefork.listener.Listener;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * @author Brady
@@ -18,4 +21,75 @@ enum FastEventDispatcher implements EventDispatcher {
             listeners.next().accept(event);
         }
     }
+
+    @Override
+    public <T> void dispatch(final @NotNull T event, final @NotNull Listener<T>[] listeners, final int length) {
+        for (int i = 0; i < length; i++) {
+            listeners[i].accept(event);
+        }
+    }
+
+    @Override
+    public <T> void dispatch(final @NotNull T event, final @NotNull ListenerInvoker<T> invoker) {
+        invoker.invoke(event);
+    }
+
+    @Override
+    public <T> void dispatch(final @NotNull T event, final @NotNull Cancellable cancellable, final @NotNull CancellationSplit<T> split) {
+        final Listener<T>[] listeners = split.getListeners();
+        final int[] checkpoints = split.getCheckpoints();
+        int i = 0;
+        for (int c = 0; c < checkpoints.length; c++) {
+            for (final int checkpoint = checkpoints[c]; i < checkpoint; i++) {
+                listeners[i].accept(event);
+            }
+            if (cancellable.isCancelled()) {
+                // Only the listeners which receive cancelled events are left
+                final Listener<T>[] receiving = split.getReceiving();
+                for (int r = split.getResume()[c]; r < receiving.length; r++) {
+                    receiving[r].accept(event);
+                }
+                return;
+            }
+        }
+        for (; i < listeners.length; i++) {
+            listeners[i].accept(event);
+        }
+    }
+
+    @Override
+    public <T> void dispatch(final @NotNull T event, final @NotNull FilterPlan<T> plan) {
+        final Listener<T>[] listeners = plan.getListeners();
+        final Consumer<T>[] bodies = plan.getBodies();
+        final int[][] filterIndices = plan.getFilterIndices();
+        final int[] runEnds = plan.getRunEnds();
+        final Predicate<? super T>[] filters = plan.getFilters();
+        final Cancellable cancellable = plan.isSkipsCancelled() && event instanceof Cancellable ? (Cancellable) event : null;
+        // Bits of the filters that have been tested, and of those that passed
+        long tested = 0;
+        long passed = 0;
+        int i = 0;
+        outer:
+        while (i < listeners.length) {
+            if (cancellable != null && !listeners[i].isReceiveCancelled() && cancellable.isCancelled()) {
+                i++;
+                continue;
+            }
+            for (final int index : filterIndices[i]) {
+                final long bit = 1L << index;
+                if ((tested & bit) == 0) {
+                    tested |= bit;
+                    if (filters[index].test(event)) {
+                        passed |= bit;
+                    }
+                }
+                if ((passed & bit) == 0) {
+                    // Every listener in the run has the same filters
+                    i = runEnds[i];
+                    continue outer;
+                }
+            }
+            bodies[i++].accept(event);
+        }
+    }
 }
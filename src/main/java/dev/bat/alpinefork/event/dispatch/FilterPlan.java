@@ -0,0 +1,199 @@
+package dev.bat.alpinefork.event.dispatch;
+
+import dev.bat.alpinefork.event.Cancellable;
+import dev.bat.alpinefork.listener.Listener;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * A snapshot of sorted {@link Listener}s whose filters are evaluated at most once per post. Each distinct filter
+ * instance is assigned an index below {@link #MAX_FILTERS}, so that the results of a post fit in a pair of
+ * {@code long} masks. During dispatch, the result of each filter is recorded the first time a listener needs it, and
+ * reused for every later listener sharing that filter. Each listener still tests its filters in its own order, stopping
+ * at the first rejection. Consecutive listeners with the same filters form a run, which is skipped as a whole once any of its filters
+ * rejects the event.
+ * <p>
+ * As filter results are reused, filters should only depend on state of the event that listeners don't change during
+ * dispatch. Listeners which don't {@link Listener#isReceiveCancelled() receive cancelled events} are skipped once a
+ * {@link Cancellable} event has been cancelled, as with {@link CancellationSplit}.
+ *
+ * @param <T> The event type
+ * @author Bat
+ * @see EventDispatcher#dispatch(Object, FilterPlan)
+ * @since 3.2.0
+ */
+public final class FilterPlan<T> {
+
+    /**
+     * The maximum number of distinct filters, limited by the width of the masks.
+     */
+    public static final int MAX_FILTERS = Long.SIZE;
+
+    private final Listener<T>[] listeners;
+    private final Consumer<T>[] bodies;
+    private final int[][] filterIndices;
+    private final int[] runEnds;
+    private final Predicate<? super T>[] filters;
+    private final boolean skipsCancelled;
+
+    private FilterPlan(Listener<T>[] listeners, Consumer<T>[] bodies, int[][] filterIndices, int[] runEnds,
+                       Predicate<? super T>[] filters, boolean skipsCancelled) {
+        this.listeners = listeners;
+        this.bodies = bodies;
+        this.filterIndices = filterIndices;
+        this.runEnds = runEnds;
+        this.filters = filters;
+        this.skipsCancelled = skipsCancelled;
+    }
+
+    /**
+     * Returns all listeners, in order.
+     *
+     * @since 3.2.0
+     */
+    public @NotNull Listener<T>[] getListeners() {
+        return this.listeners;
+    }
+
+    /**
+     * Returns the unfiltered {@link Listener#getBody() body} of each listener.
+     *
+     * @since 3.2.0
+     */
+    public @NotNull Consumer<T>[] getBodies() {
+        return this.bodies;
+    }
+
+    /**
+     * Returns the indices into {@link #getFilters()} of the filters of each listener, in the order they are tested.
+     *
+     * @since 3.2.0
+     */
+    public @NotNull int[][] getFilterIndices() {
+        return this.filterIndices;
+    }
+
+    /**
+     * Returns, for each listener, the index after the last consecutive listener with the same set of filters.
+     *
+     * @since 3.2.0
+     */
+    public @NotNull int[] getRunEnds() {
+        return this.runEnds;
+    }
+
+    /**
+     * Returns the distinct filters of all listeners.
+     *
+     * @since 3.2.0
+     */
+    public @NotNull Predicate<? super T>[] getFilters() {
+        return this.filters;
+    }
+
+    /**
+     * Returns {@code true} if any listener doesn't receive cancelled events.
+     *
+     * @since 3.2.0
+     */
+    public boolean isSkipsCancelled() {
+        return this.skipsCancelled;
+    }
+
+    /**
+     * Returns an iterator over the listeners which skips those that don't receive cancelled events once the event is
+     * cancelled. Filters are left to {@link Listener#accept}, so they aren't memoized. Used as a fallback for
+     * dispatchers which only implement {@link EventDispatcher#dispatch(Object, Iterator)}.
+     *
+     * @param event The event being dispatched
+     * @return A new iterator
+     * @since 3.2.0
+     */
+    public @NotNull Iterator<Listener<T>> iterator(@NotNull T event) {
+        final Cancellable cancellable = this.skipsCancelled && event instanceof Cancellable ? (Cancellable) event : null;
+        return new Iterator<Listener<T>>() {
+            private int i = 0;
+
+            @Override
+            public boolean hasNext() {
+                final Listener<T>[] listeners = FilterPlan.this.listeners;
+                if (cancellable != null && cancellable.isCancelled()) {
+                    while (this.i < listeners.length && !listeners[this.i].isReceiveCancelled()) {
+                        this.i++;
+                    }
+                }
+                return this.i < listeners.length;
+            }
+
+            @Override
+            public Listener<T> next() {
+                return FilterPlan.this.listeners[this.i++];
+            }
+        };
+    }
+
+    /**
+     * Creates a plan for the first {@code length} listeners of the specified sorted array.
+     *
+     * @param listeners The listeners, which must not be modified afterwards
+     * @param length    The number of listeners
+     * @param <T>       The event type
+     * @return The plan, or {@code null} if no filter instance is shared by multiple listeners, in which case there is
+     * nothing to reuse, or if there are more than {@link #MAX_FILTERS} distinct filters
+     * @since 3.2.0
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> @Nullable FilterPlan<T> of(@NotNull Listener<T>[] listeners, int length) {
+        final Map<Predicate<? super T>, Integer> indices = new IdentityHashMap<>();
+        final List<Predicate<? super T>> filters = new ArrayList<>();
+        final int[][] filterIndices = new int[length][];
+        final long[] masks = new long[length];
+        boolean shared = false;
+        boolean skipsCancelled = false;
+        for (int i = 0; i < length; i++) {
+            final Predicate<? super T>[] own = listeners[i].getFilters();
+            final int[] ownIndices = new int[own.length];
+            long mask = 0;
+            for (int f = 0; f < own.length; f++) {
+                final Predicate<? super T> filter = own[f];
+                Integer index = indices.get(filter);
+                if (index == null) {
+                    if (filters.size() == MAX_FILTERS) {
+                        return null;
+                    }
+                    index = filters.size();
+                    indices.put(filter, index);
+                    filters.add(filter);
+                } else if ((mask & 1L << index) == 0) {
+                    shared = true;
+                }
+                ownIndices[f] = index;
+                mask |= 1L << index;
+            }
+            filterIndices[i] = ownIndices;
+            masks[i] = mask;
+            skipsCancelled |= !listeners[i].isReceiveCancelled();
+        }
+        if (!shared) {
+            return null;
+        }
+
+        final Consumer<T>[] bodies = new Consumer[length];
+        final int[] runEnds = new int[length];
+        for (int i = length - 1; i >= 0; i--) {
+            bodies[i] = listeners[i].getBody();
+            runEnds[i] = i + 1 < length && masks[i + 1] == masks[i] ? runEnds[i + 1] : i + 1;
+        }
+        final Listener<T>[] all = listeners.length == length ? listeners : Arrays.copyOf(listeners, length);
+        return new FilterPlan<>(all, bodies, filterIndices, runEnds, filters.toArray(new Predicate[0]), skipsCancelled);
+    }
+}
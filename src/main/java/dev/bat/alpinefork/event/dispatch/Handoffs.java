@@ -0,0 +1,90 @@
+package dev.bat.alpinefork.event.dispatch;
+
+import dev.bat.alpinefork.event.EventPool;
+import dev.bat.alpinefork.listener.Listener;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks the {@link Listener}s that posts on the current thread hand to executors through
+ * {@link EventDispatcher#withExecutors}, so that an action can be run once all of them have been invoked. This is used
+ * to release an event to its {@link EventPool} only once no listener can observe it anymore.
+ * <p>
+ * Tracking starts with {@link #begin} and ends with {@link #end}, which must be called on the same thread, usually
+ * in a {@code finally} block. The action runs when {@link #end} is called if nothing was handed off, and otherwise on
+ * the executor thread of the last handed off listener. Tracking may be nested, in which case handoffs are counted by
+ * the innermost tracker.
+ *
+ * @author Bat
+ * @since 3.2.0
+ */
+public final class Handoffs {
+
+    private static final ThreadLocal<Handoffs> CURRENT = new ThreadLocal<>();
+
+    private final Runnable onComplete;
+    private final @Nullable Handoffs previous;
+
+    /**
+     * The number of outstanding handoffs, plus one until {@link #end} is called.
+     */
+    private final AtomicInteger pending;
+
+    private Handoffs(Runnable onComplete, @Nullable Handoffs previous) {
+        this.onComplete = onComplete;
+        this.previous = previous;
+        this.pending = new AtomicInteger(1);
+    }
+
+    /**
+     * Starts tracking the handoffs of the current thread.
+     *
+     * @param onComplete The action to run once tracking has ended and every handoff has completed
+     * @return The tracker, which must be {@link #end ended} on the current thread
+     * @since 3.2.0
+     */
+    public static @NotNull Handoffs begin(@NotNull Runnable onComplete) {
+        final Handoffs handoffs = new Handoffs(Objects.requireNonNull(onComplete), CURRENT.get());
+        CURRENT.set(handoffs);
+        return handoffs;
+    }
+
+    /**
+     * Stops tracking the handoffs of the current thread, and runs the action if every handoff has completed already.
+     *
+     * @throws IllegalStateException If this isn't the innermost tracker of the current thread
+     * @since 3.2.0
+     */
+    public void end() {
+        if (CURRENT.get() != this) {
+            throw new IllegalStateException("Handoffs must be ended on the thread which began them, in reverse order");
+        }
+        if (this.previous != null) {
+            CURRENT.set(this.previous);
+        } else {
+            CURRENT.remove();
+        }
+        this.complete();
+    }
+
+    static @Nullable Handoffs current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Counts a handoff, which must be {@link #complete completed} once its listeners have been invoked, or if it
+     * couldn't be handed to its executor.
+     */
+    void add() {
+        this.pending.incrementAndGet();
+    }
+
+    void complete() {
+        if (this.pending.decrementAndGet() == 0) {
+            this.onComplete.run();
+        }
+    }
+}
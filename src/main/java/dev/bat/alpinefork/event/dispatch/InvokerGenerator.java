@@ -0,0 +1,126 @@
+package dev.bat.alpinefork.event.dispatch;
+
+import dev.bat.alpinefork.listener.Listener;
+import dev.bat.alpinefork.listener.ListenerExceptionHandler;
+import dev.bat.alpinefork.util.Util;
+import org.jetbrains.annotations.NotNull;
+import sun.misc.Unsafe;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * Defines copies of {@link UnrolledInvoker} to create {@link ListenerInvoker} instances. Hidden classes are used on
+ * Java 15+, and {@code Unsafe.defineAnonymousClass} is used on older versions. If neither is available, the template
+ * class itself is used.
+ *
+ * @author Bat
+ * @since 3.2.0
+ */
+final class InvokerGenerator {
+
+    private InvokerGenerator() {}
+
+    private static final MethodType CONSTRUCTOR_TYPE =
+        MethodType.methodType(void.class, Listener[].class, int.class, ListenerInvoker.class);
+
+    private static final ClassDefiner DEFINER = createDefiner();
+
+    @SuppressWarnings("unchecked")
+    static <T> ListenerInvoker<T> generate(Listener<T>[] listeners) {
+        final Listener<Object>[] erased = (Listener<Object>[]) (Listener<?>[]) listeners;
+        ListenerInvoker<Object> invoker = new Empty(erased);
+        // Build the chain from the tail, so that each invoker already knows its successor
+        for (int offset = ((listeners.length - 1) / UnrolledInvoker.SIZE) * UnrolledInvoker.SIZE;
+             offset >= 0 && listeners.length != 0; offset -= UnrolledInvoker.SIZE) {
+            invoker = newInvoker(erased, offset, invoker);
+        }
+        return (ListenerInvoker<T>) (ListenerInvoker<?>) invoker;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ListenerInvoker<Object> newInvoker(Listener<Object>[] listeners, int offset, ListenerInvoker<Object> next) {
+        try {
+            final MethodHandle constructor = Util.getLookup().findConstructor(DEFINER.define(), CONSTRUCTOR_TYPE);
+            return (ListenerInvoker<Object>) constructor.invoke(listeners, offset, next);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Unable to create listener invoker", e);
+        }
+    }
+
+    private static ClassDefiner createDefiner() {
+        final byte[] template;
+        try {
+            template = readTemplate();
+        } catch (IOException e) {
+            return () -> UnrolledInvoker.class;
+        }
+
+        // Java 15+
+        try {
+            final Class<?> optionType = Class.forName("java.lang.invoke.MethodHandles$Lookup$ClassOption");
+            final Object options = Array.newInstance(optionType, 0);
+            final Method defineHiddenClass = MethodHandles.Lookup.class.getMethod(
+                "defineHiddenClass", byte[].class, boolean.class, options.getClass()
+            );
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            return () -> ((MethodHandles.Lookup) defineHiddenClass.invoke(lookup, template, true, options)).lookupClass();
+        } catch (ReflectiveOperationException ignored) {}
+
+        // Java 8-16
+        try {
+            final Field theUnsafe = Unsafe.class.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            final Object unsafe = theUnsafe.get(null);
+            final Method defineAnonymousClass = Unsafe.class.getMethod(
+                "defineAnonymousClass", Class.class, byte[].class, Object[].class
+            );
+            return () -> (Class<?>) defineAnonymousClass.invoke(unsafe, UnrolledInvoker.class, template, null);
+        } catch (ReflectiveOperationException ignored) {}
+
+        return () -> UnrolledInvoker.class;
+    }
+
+    private static byte[] readTemplate() throws IOException {
+        try (InputStream in = UnrolledInvoker.class.getResourceAsStream("UnrolledInvoker.class")) {
+            if (in == null) {
+                throw new IOException("Missing invoker template");
+            }
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ClassDefiner {
+        Class<?> define() throws Throwable;
+    }
+
+    /**
+     * Terminates the invoker chain.
+     */
+    private static final class Empty extends ListenerInvoker<Object> {
+
+        Empty(Listener<Object>[] listeners) {
+            super(listeners);
+        }
+
+        @Override
+        public void invoke(@NotNull Object event) {}
+
+        @Override
+        public void invoke(@NotNull Object event, @NotNull ListenerExceptionHandler handler) {}
+    }
+}
@@ -0,0 +1,123 @@
+package dev.bat.alpinefork.event.dispatch;
+
+import dev.bat.alpinefork.listener.Listener;
+import dev.bat.alpinefork.listener.ListenerExceptionHandler;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * A precompiled invocation of a fixed array of {@link Listener}s. Invokers created by {@link #generate} are backed by
+ * a freshly defined class for every group of listeners, so that every call site within an invoker only ever sees a
+ * single callback type. This allows the JIT to inline listener bodies into the dispatch loop, which is not possible
+ * when all listeners of a bus are invoked from the shared call site in {@link Listener#accept}.
+ * <p>
+ * Generating an invoker defines new classes, so it should only be done when the listener set has changed, and not for
+ * each posted event.
+ *
+ * @param <T> The event type
+ * @author Bat
+ * @see EventDispatcher#dispatch(Object, ListenerInvoker)
+ * @since 3.2.0
+ */
+public abstract class ListenerInvoker<T> {
+
+    private static final Consumer<Object> NO_OP = event -> {};
+
+    private final Listener<T>[] listeners;
+
+    protected ListenerInvoker(@NotNull Listener<T>[] listeners) {
+        this.listeners = Objects.requireNonNull(listeners);
+    }
+
+    /**
+     * Returns the listeners invoked by this invoker, in order. The returned array must not be modified.
+     *
+     * @since 3.2.0
+     */
+    public final @NotNull Listener<T>[] getListeners() {
+        return this.listeners;
+    }
+
+    /**
+     * Invokes every listener with the specified event, without any exception handling.
+     *
+     * @param event The event
+     * @since 3.2.0
+     */
+    public abstract void invoke(@NotNull T event);
+
+    /**
+     * Invokes every listener with the specified event. If a listener throws an exception, the specified handler is
+     * notified and none of the remaining listeners are invoked, as is done by
+     * {@link EventDispatcher#withExceptionHandler}.
+     *
+     * @param event   The event
+     * @param handler The exception handler
+     * @since 3.2.0
+     */
+    public abstract void invoke(@NotNull T event, @NotNull ListenerExceptionHandler handler);
+
+    /**
+     * Creates a new invoker for the specified listeners, defining a specialized class for every group of listeners.
+     * If classes can't be defined on the running JVM, the returned invoker is still unrolled, but its call sites are
+     * shared with other invokers.
+     *
+     * @param listeners The listeners, which must not be modified afterwards
+     * @param <T>       The event type
+     * @return The invoker
+     * @since 3.2.0
+     */
+    public static <T> @NotNull ListenerInvoker<T> generate(@NotNull Listener<T>[] listeners) {
+        return InvokerGenerator.generate(listeners);
+    }
+
+    /**
+     * Invokes the listeners of an {@link UnrolledInvoker} with exception handling, skipping unused {@code null}
+     * slots, and then passes the event on to the next invoker unless a listener threw an exception.
+     */
+    static <T> void invokeGuarded(T event, ListenerExceptionHandler handler, ListenerInvoker<T> next,
+                                  Listener<T> l0, Listener<T> l1, Listener<T> l2, Listener<T> l3,
+                                  Listener<T> l4, Listener<T> l5, Listener<T> l6, Listener<T> l7) {
+        Listener<T> last = l0;
+        try {
+            invokeSlot(l0, event);
+            last = l1;
+            invokeSlot(l1, event);
+            last = l2;
+            invokeSlot(l2, event);
+            last = l3;
+            invokeSlot(l3, event);
+            last = l4;
+            invokeSlot(l4, event);
+            last = l5;
+            invokeSlot(l5, event);
+            last = l6;
+            invokeSlot(l6, event);
+            last = l7;
+            invokeSlot(l7, event);
+        } catch (Throwable cause) {
+            if (handler.handleException(event, last, cause)) {
+                throw cause;
+            }
+            return;
+        }
+        next.invoke(event, handler);
+    }
+
+    private static <T> void invokeSlot(Listener<T> listener, T event) {
+        if (listener != null) {
+            listener.getCallback().accept(event);
+        }
+    }
+
+    static <T> Listener<T> listenerAt(Listener<T>[] listeners, int index) {
+        return index < listeners.length ? listeners[index] : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> Consumer<T> callbackAt(Listener<T>[] listeners, int index) {
+        return index < listeners.length ? listeners[index].getCallback() : (Consumer<T>) NO_OP;
+    }
+}
@@ -0,0 +1,239 @@
+package dev.bat.alpinefork.event.dispatch;
+
+import dev.bat.alpinefork.event.Cancellable;
+import dev.bat.alpinefork.listener.Listener;
+import dev.bat.alpinefork.listener.ListenerExceptionHandler;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * An {@link EventDispatcher} which invokes bands of consecutive parallel {@link Listener}s with the same priority
+ * concurrently on a {@link ForkJoinPool}. The bands are still dispatched in priority order, and each band is completed
+ * before the next listener is invoked. Events without any parallel listeners are dispatched by the delegate, which
+ * keeps the optimized dispatch paths for them.
+ * <p>
+ * Exceptions thrown within a band are collected, and passed to the exception handler in listener order once the band
+ * has completed. As with sequential dispatch, none of the remaining listeners receive the event after an exception.
+ *
+ * @author Bat
+ * @since 3.2.0
+ */
+final class ParallelDispatcher implements EventDispatcher {
+
+    private final ForkJoinPool pool;
+    private final @Nullable ListenerExceptionHandler exceptionHandler;
+    private final EventDispatcher delegate;
+
+    /**
+     * Whether all listeners of an event type are parallel, because it is a subtype of one of the parallel types.
+     */
+    private final ClassValue<Boolean> parallelTypes;
+
+    ParallelDispatcher(ForkJoinPool pool, @Nullable ListenerExceptionHandler exceptionHandler,
+                       Collection<Class<?>> parallelTypes) {
+        this.pool = pool;
+        this.exceptionHandler = exceptionHandler;
+        this.delegate = exceptionHandler != null
+            ? EventDispatcher.withExceptionHandler(exceptionHandler)
+            : EventDispatcher.fastEventDispatcher();
+        final List<Class<?>> types = new ArrayList<>(parallelTypes);
+        this.parallelTypes = new ClassValue<Boolean>() {
+            @Override
+            protected Boolean computeValue(Class<?> type) {
+                return types.stream().anyMatch(parallelType -> parallelType.isAssignableFrom(type));
+            }
+        };
+    }
+
+    @Override
+    public <T> void dispatch(final @NotNull T event, final @NotNull Iterator<Listener<T>> listeners) {
+        final List<Listener<T>> list = new ArrayList<>();
+        listeners.forEachRemaining(list::add);
+        @SuppressWarnings("unchecked")
+        final Listener<T>[] array = list.toArray(new Listener[0]);
+        this.dispatch(event, array, array.length);
+    }
+
+    @Override
+    public <T> void dispatch(final @NotNull T event, final @NotNull Listener<T>[] listeners, final int length) {
+        final boolean allParallel = this.parallelTypes.get(event.getClass());
+        if (!allParallel && !hasParallel(listeners, length)) {
+            this.delegate.dispatch(event, listeners, length);
+            return;
+        }
+        this.dispatchBands(event, listeners, length, allParallel);
+    }
+
+    @Override
+    public <T> void dispatch(final @NotNull T event, final @NotNull ListenerInvoker<T> invoker) {
+        final Listener<T>[] listeners = invoker.getListeners();
+        final boolean allParallel = this.parallelTypes.get(event.getClass());
+        if (!allParallel && !hasParallel(listeners, listeners.length)) {
+            this.delegate.dispatch(event, invoker);
+            return;
+        }
+        this.dispatchBands(event, listeners, listeners.length, allParallel);
+    }
+
+    @Override
+    public <T> void dispatch(final @NotNull T event, final @NotNull Cancellable cancellable, final @NotNull CancellationSplit<T> split) {
+        final Listener<T>[] listeners = split.getListeners();
+        final boolean allParallel = this.parallelTypes.get(event.getClass());
+        if (!allParallel && !hasParallel(listeners, listeners.length)) {
+            this.delegate.dispatch(event, cancellable, split);
+            return;
+        }
+        this.dispatchBands(event, listeners, listeners.length, allParallel);
+    }
+
+    @Override
+    public <T> void dispatch(final @NotNull T event, final @NotNull FilterPlan<T> plan) {
+        final Listener<T>[] listeners = plan.getListeners();
+        final boolean allParallel = this.parallelTypes.get(event.getClass());
+        if (!allParallel && !hasParallel(listeners, listeners.length)) {
+            this.delegate.dispatch(event, plan);
+            return;
+        }
+        // Each listener tests its own filters through Listener#accept
+        this.dispatchBands(event, listeners, listeners.length, allParallel);
+    }
+
+    private <T> void dispatchBands(T event, Listener<T>[] listeners, int length, boolean allParallel) {
+        final Cancellable cancellable = event instanceof Cancellable ? (Cancellable) event : null;
+        int i = 0;
+        while (i < length) {
+            final Listener<T> listener = listeners[i];
+            int end = i + 1;
+            if (allParallel || listener.isParallel()) {
+                while (end < length && listeners[end].getPriority() == listener.getPriority()
+                    && (allParallel || listeners[end].isParallel())) {
+                    end++;
+                }
+            }
+            final boolean cancelled = cancellable != null && cancellable.isCancelled();
+            if (end - i == 1) {
+                if (!cancelled || listener.isReceiveCancelled()) {
+                    try {
+                        listener.accept(event);
+                    } catch (Throwable cause) {
+                        if (this.exceptionHandler == null || this.exceptionHandler.handleException(event, listener, cause)) {
+                            throw cause;
+                        }
+                        return;
+                    }
+                }
+            } else if (!this.invokeBand(event, listeners, i, end, cancelled)) {
+                return;
+            }
+            i = end;
+        }
+    }
+
+    /**
+     * Invokes a band of listeners concurrently, and handles the exceptions which they threw.
+     *
+     * @return Whether the band completed without exceptions
+     */
+    private <T> boolean invokeBand(T event, Listener<T>[] listeners, int from, int to, boolean cancelled) {
+        final Throwable[] failures = new Throwable[to - from];
+        final Band<T> band = new Band<>(event, listeners, from, to, cancelled, failures);
+        // Join the band directly when posting from a worker of the pool, rather than blocking the worker
+        if (ForkJoinTask.getPool() == this.pool) {
+            band.invoke();
+        } else {
+            this.pool.invoke(band);
+        }
+
+        boolean failed = false;
+        Throwable thrown = null;
+        for (int i = 0; i < failures.length; i++) {
+            final Throwable cause = failures[i];
+            if (cause == null) {
+                continue;
+            }
+            failed = true;
+            if (this.exceptionHandler == null || this.exceptionHandler.handleException(event, listeners[from + i], cause)) {
+                if (thrown == null) {
+                    thrown = cause;
+                } else {
+                    thrown.addSuppressed(cause);
+                }
+            }
+        }
+        if (thrown != null) {
+            throw ParallelDispatcher.<RuntimeException>sneakyThrow(thrown);
+        }
+        return !failed;
+    }
+
+    private static boolean hasParallel(Listener<?>[] listeners, int length) {
+        for (int i = 0; i < length; i++) {
+            if (listeners[i].isParallel()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends Throwable> E sneakyThrow(Throwable cause) throws E {
+        throw (E) cause;
+    }
+
+    /**
+     * Invokes a range of a band by splitting it in halves, recording the exception thrown by each listener.
+     */
+    private static final class Band<T> extends RecursiveAction {
+
+        private final T event;
+        private final Listener<T>[] listeners;
+        private final int from;
+        private final int to;
+        private final boolean cancelled;
+        private final Throwable[] failures;
+        private final int offset;
+
+        Band(T event, Listener<T>[] listeners, int from, int to, boolean cancelled, Throwable[] failures) {
+            this(event, listeners, from, to, cancelled, failures, from);
+        }
+
+        private Band(T event, Listener<T>[] listeners, int from, int to, boolean cancelled, Throwable[] failures, int offset) {
+            this.event = event;
+            this.listeners = listeners;
+            this.from = from;
+            this.to = to;
+            this.cancelled = cancelled;
+            this.failures = failures;
+            this.offset = offset;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from == 1) {
+                final Listener<T> listener = this.listeners[this.from];
+                // Cancellation is only checked at the start of the band, as its listeners can't observe each other
+                if (!this.cancelled || listener.isReceiveCancelled()) {
+                    try {
+                        listener.accept(this.event);
+                    } catch (Throwable cause) {
+                        this.failures[this.from - this.offset] = cause;
+                    }
+                }
+                return;
+            }
+            final int mid = (this.from + this.to) >>> 1;
+            invokeAll(
+                new Band<>(this.event, this.listeners, this.from, mid, this.cancelled, this.failures, this.offset),
+                new Band<>(this.event, this.listeners, mid, this.to, this.cancelled, this.failures, this.offset)
+            );
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package dev.bat.alpinefork.event.dispatch;
+
+import dev.bat.alpinefork.listener.Listener;
+import dev.bat.alpinefork.listener.ListenerExceptionHandler;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Consumer;
+
+/**
+ * Template for the classes defined by {@link InvokerGenerator}. Each instance invokes up to {@link #SIZE} listeners,
+ * and then passes the event on to the next invoker in the chain. Unused slots are filled with a no-op callback.
+ * <p>
+ * The bytecode of this class is copied for every generated invoker, so it must not reference itself by name, and
+ * must not contain lambdas or nested classes. It must not contain branches or exception handlers either, as javac may
+ * name this class in their stack map frames, which then fail verification in a hidden class with a different name.
+ * The exception handling loop is therefore in {@link ListenerInvoker#invokeGuarded}.
+ *
+ * @author Bat
+ * @since 3.2.0
+ */
+final class UnrolledInvoker extends ListenerInvoker<Object> {
+
+    static final int SIZE = 8;
+
+    private final Listener<Object> l0, l1, l2, l3, l4, l5, l6, l7;
+    private final Consumer<Object> c0, c1, c2, c3, c4, c5, c6, c7;
+    private final ListenerInvoker<Object> next;
+
+    UnrolledInvoker(Listener<Object>[] listeners, int offset, ListenerInvoker<Object> next) {
+        super(listeners);
+        this.l0 = ListenerInvoker.listenerAt(listeners, offset);
+        this.l1 = ListenerInvoker.listenerAt(listeners, offset + 1);
+        this.l2 = ListenerInvoker.listenerAt(listeners, offset + 2);
+        this.l3 = ListenerInvoker.listenerAt(listeners, offset + 3);
+        this.l4 = ListenerInvoker.listenerAt(listeners, offset + 4);
+        this.l5 = ListenerInvoker.listenerAt(listeners, offset + 5);
+        this.l6 = ListenerInvoker.listenerAt(listeners, offset + 6);
+        this.l7 = ListenerInvoker.listenerAt(listeners, offset + 7);
+        this.c0 = ListenerInvoker.callbackAt(listeners, offset);
+        this.c1 = ListenerInvoker.callbackAt(listeners, offset + 1);
+        this.c2 = ListenerInvoker.callbackAt(listeners, offset + 2);
+        this.c3 = ListenerInvoker.callbackAt(listeners, offset + 3);
+        this.c4 = ListenerInvoker.callbackAt(listeners, offset + 4);
+        this.c5 = ListenerInvoker.callbackAt(listeners, offset + 5);
+        this.c6 = ListenerInvoker.callbackAt(listeners, offset + 6);
+        this.c7 = ListenerInvoker.callbackAt(listeners, offset + 7);
+        this.next = next;
+    }
+
+    @Override
+    public void invoke(@NotNull Object event) {
+        this.c0.accept(event);
+        this.c1.accept(event);
+        this.c2.accept(event);
+        this.c3.accept(event);
+        this.c4.accept(event);
+        this.c5.accept(event);
+        this.c6.accept(event);
+        this.c7.accept(event);
+        this.next.invoke(event);
+    }
+
+    @Override
+    public void invoke(@NotNull Object event, @NotNull ListenerExceptionHandler handler) {
+        ListenerInvoker.invokeGuarded(event, handler, this.next,
+            this.l0, this.l1, this.l2, this.l3, this.l4, this.l5, this.l6, this.l7);
+    }
+}
@@ -0,0 +1,43 @@
+package dev.bat.alpinefork.listener;
+
+import dev.bat.alpinefork.event.dispatch.EventDispatcher;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+
+/**
+ * The shared {@link ListenerList} of the event types which have no listeners. Posting to it does nothing, and it can't
+ * receive listeners; a real list has to take its place first.
+ *
+ * @author Bat
+ * @since 3.2.0
+ */
+@SuppressWarnings("rawtypes")
+enum EmptyListenerList implements ListenerList {
+    INSTANCE;
+
+    @Override
+    public void post(@NotNull Object event, @NotNull EventDispatcher dispatcher) {}
+
+    @Override
+    public boolean add(@NotNull Listener listener) {
+        throw new UnsupportedOperationException("The empty listener list can't receive listeners");
+    }
+
+    @Override
+    public boolean remove(@NotNull Listener listener) {
+        return false;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return true;
+    }
+
+    @Override
+    public void update(@NotNull Collection added, @NotNull Collection removed) {
+        if (!added.isEmpty()) {
+            throw new UnsupportedOperationException("The empty listener list can't receive listeners");
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package dev.bat.alpinefork.listener;
+
+import dev.bat.alpinefork.listener.concurrent.GeneratedListenerList;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * @author Bat
+ * @since 3.2.0
+ */
+enum GeneratedListenerListFactory implements ListenerListFactory {
+    INSTANCE;
+
+    @Override
+    public @NotNull <T> ListenerList<T> create(Class<T> eventType) {
+        return new GeneratedListenerList<>();
+    }
+}
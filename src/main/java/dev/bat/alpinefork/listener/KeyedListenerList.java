@@ -0,0 +1,207 @@
+package dev.bat.alpinefork.listener;
+
+import dev.bat.alpinefork.event.Keyed;
+import dev.bat.alpinefork.event.dispatch.EventDispatcher;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A {@link ListenerList} for a {@link Keyed} event type, which keeps a separate list for each key that a
+ * {@link Listener#isKeyed() keyed} listener has been added for. Each key list contains the listeners of that key merged
+ * with the unkeyed listeners, so posting an event is a single {@link ListenerList#post} on the list of its key, or on
+ * the list of the unkeyed listeners if no listener has that key.
+ * <p>
+ * The index from keys to lists is replaced by a modified copy when a key is added or removed, so that it can be read
+ * without locking. Keys are therefore expected to be added far less often than events are posted.
+ *
+ * @author Bat
+ * @since 3.2.0
+ */
+final class KeyedListenerList<T> implements ListenerList<T> {
+
+    private final ListenerListFactory factory;
+    private final Class<T> type;
+    private final ListenerList<T> unkeyed;
+
+    /**
+     * The list of each key which has at least one listener. Never modified after it is published.
+     */
+    private volatile Int2ObjectOpenHashMap<ListenerList<T>> lists;
+
+    /**
+     * All listeners in this list, the unkeyed listeners, used to populate new key lists, and the number of listeners
+     * of each key, all guarded by {@code this}.
+     */
+    private final Set<Listener<T>> listeners;
+    private final Set<Listener<T>> unkeyedListeners;
+    private final Int2IntOpenHashMap counts;
+
+    KeyedListenerList(ListenerListFactory factory, Class<T> type) {
+        this.factory = factory;
+        this.type = type;
+        this.unkeyed = factory.create(type);
+        this.lists = new Int2ObjectOpenHashMap<>();
+        this.listeners = new LinkedHashSet<>();
+        this.unkeyedListeners = new LinkedHashSet<>();
+        this.counts = new Int2IntOpenHashMap();
+    }
+
+    @Override
+    public void post(@NotNull T event, @NotNull EventDispatcher dispatcher) {
+        final ListenerList<T> list = this.lists.get(((Keyed) event).getKey());
+        (list != null ? list : this.unkeyed).post(event, dispatcher);
+    }
+
+    @Override
+    public synchronized boolean add(@NotNull Listener<T> listener) {
+        if (this.listeners.contains(listener)) {
+            return false;
+        }
+        this.listeners.add(listener);
+        if (!listener.isKeyed()) {
+            this.unkeyedListeners.add(listener);
+            this.unkeyed.add(listener);
+            for (ListenerList<T> list : this.lists.values()) {
+                list.add(listener);
+            }
+            return true;
+        }
+
+        Int2ObjectOpenHashMap<ListenerList<T>> lists = this.lists;
+        for (int key : listener.getKeys()) {
+            if (this.counts.addTo(key, 1) == 0) {
+                if (lists == this.lists) {
+                    lists = new Int2ObjectOpenHashMap<>(lists);
+                }
+                lists.put(key, this.createKeyList(new ArrayList<>()));
+            }
+            lists.get(key).add(listener);
+        }
+        // Publish new key lists only once they contain all of their listeners
+        this.lists = lists;
+        return true;
+    }
+
+    @Override
+    public synchronized boolean remove(@NotNull Listener<T> listener) {
+        if (!this.listeners.remove(listener)) {
+            return false;
+        }
+        if (!listener.isKeyed()) {
+            this.unkeyedListeners.remove(listener);
+            this.unkeyed.remove(listener);
+            for (ListenerList<T> list : this.lists.values()) {
+                list.remove(listener);
+            }
+            return true;
+        }
+
+        Int2ObjectOpenHashMap<ListenerList<T>> lists = this.lists;
+        for (int key : listener.getKeys()) {
+            if (this.counts.addTo(key, -1) == 1) {
+                // The key list only contains the unkeyed listeners now, so posts can use the unkeyed list instead
+                this.counts.remove(key);
+                if (lists == this.lists) {
+                    lists = new Int2ObjectOpenHashMap<>(lists);
+                }
+                lists.remove(key);
+            } else {
+                lists.get(key).remove(listener);
+            }
+        }
+        this.lists = lists;
+        return true;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        // Key lists only exist while they contain keyed listeners
+        return this.lists.isEmpty() && this.unkeyed.isEmpty();
+    }
+
+    @Override
+    public synchronized void update(@NotNull Collection<Listener<T>> added, @NotNull Collection<Listener<T>> removed) {
+        final List<Listener<T>> unkeyedRemoved = new ArrayList<>();
+        final Int2ObjectOpenHashMap<List<Listener<T>>> keyedRemoved = new Int2ObjectOpenHashMap<>();
+        for (Listener<T> listener : removed) {
+            if (this.listeners.remove(listener)) {
+                this.group(listener, unkeyedRemoved, keyedRemoved, -1);
+            }
+        }
+        final List<Listener<T>> unkeyedAdded = new ArrayList<>();
+        final Int2ObjectOpenHashMap<List<Listener<T>>> keyedAdded = new Int2ObjectOpenHashMap<>();
+        for (Listener<T> listener : added) {
+            if (this.listeners.add(listener)) {
+                this.group(listener, unkeyedAdded, keyedAdded, 1);
+            }
+        }
+        this.unkeyedListeners.removeAll(unkeyedRemoved);
+        this.unkeyedListeners.addAll(unkeyedAdded);
+
+        final Int2ObjectOpenHashMap<ListenerList<T>> lists = new Int2ObjectOpenHashMap<>(this.lists);
+        final Set<Integer> changedKeys = new LinkedHashSet<>(keyedRemoved.keySet());
+        changedKeys.addAll(keyedAdded.keySet());
+        for (int key : changedKeys) {
+            final List<Listener<T>> keyAdded = keyedAdded.getOrDefault(key, new ArrayList<>());
+            final List<Listener<T>> keyRemoved = keyedRemoved.getOrDefault(key, new ArrayList<>());
+            final ListenerList<T> list = lists.get(key);
+            if (this.counts.get(key) == 0) {
+                this.counts.remove(key);
+                lists.remove(key);
+            } else if (list == null) {
+                lists.put(key, this.createKeyList(keyAdded));
+            } else {
+                keyAdded.addAll(unkeyedAdded);
+                keyRemoved.addAll(unkeyedRemoved);
+                list.update(keyAdded, keyRemoved);
+            }
+        }
+        if (!unkeyedAdded.isEmpty() || !unkeyedRemoved.isEmpty()) {
+            this.unkeyed.update(unkeyedAdded, unkeyedRemoved);
+            for (Int2ObjectOpenHashMap.Entry<ListenerList<T>> entry : lists.int2ObjectEntrySet()) {
+                // The lists of the changed keys have been updated already
+                if (!changedKeys.contains(entry.getIntKey())) {
+                    entry.getValue().update(unkeyedAdded, unkeyedRemoved);
+                }
+            }
+        }
+        this.lists = lists;
+    }
+
+    /**
+     * Adds the listener to the list of unkeyed listeners, or to the lists of each of its keys, and adjusts the
+     * number of listeners of its keys by {@code delta}.
+     */
+    private void group(Listener<T> listener, List<Listener<T>> unkeyed, Int2ObjectOpenHashMap<List<Listener<T>>> keyed,
+                       int delta) {
+        if (!listener.isKeyed()) {
+            unkeyed.add(listener);
+            return;
+        }
+        for (int key : listener.getKeys()) {
+            this.counts.addTo(key, delta);
+            List<Listener<T>> list = keyed.get(key);
+            if (list == null) {
+                keyed.put(key, list = new ArrayList<>());
+            }
+            list.add(listener);
+        }
+    }
+
+    /**
+     * Creates the list of a key, containing the unkeyed listeners and the specified listeners of the key.
+     */
+    private ListenerList<T> createKeyList(List<Listener<T>> keyListeners) {
+        final ListenerList<T> list = this.factory.create(this.type);
+        keyListeners.addAll(0, this.unkeyedListeners);
+        list.update(keyListeners, new ArrayList<>());
+        return list;
+    }
+}
@@ -1,8 +1,15 @@
 package dev.bat.alpinefork.listener;
 
+import dev.bat.alpinefork.bus.EventBus;
+import dev.bat.alpinefork.bus.EventBusBuilder;
 import dev.bat.alpinefork.bus.EventManager;
+import dev.bat.alpinefork.event.Cancellable;
+import dev.bat.alpinefork.event.Event;
+import dev.bat.alpinefork.event.EventDirection;
+import dev.bat.alpinefork.event.EventPhase;
 import dev.bat.alpinefork.event.EventPriority;
 import dev.bat.alpinefork.event.Events;
+import dev.bat.alpinefork.event.Keyed;
 import dev.bat.alpinefork.exception.EventTypeException;
 import dev.bat.alpinefork.exception.ListenerTargetException;
 import dev.bat.alpinefork.util.Util;
@@ -12,7 +19,11 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
@@ -60,6 +71,7 @@ import java.util.function.Predicate;
 public final class Listener<@NotNull T> implements Consumer<T>, Comparable<Listener<?>> {
 
     private static final Predicate<Object>[] EMPTY_FILTERS = new Predicate[0];
+    private static final int[] EMPTY_KEYS = new int[0];
 
     /**
      * The type of the target event.
@@ -71,6 +83,12 @@ public final class Listener<@NotNull T> implements Consumer<T>, Comparable<Liste
      */
     private final Consumer<T> callback;
 
+    /**
+     * The unfiltered body and the filters that {@link #callback} was created from.
+     */
+    private final Consumer<T> body;
+    private final Predicate<? super T>[] filters;
+
     /**
      * Priority of this {@link Listener}.
      *
@@ -86,6 +104,37 @@ public final class Listener<@NotNull T> implements Consumer<T>, Comparable<Liste
     @Getter
     private final int priority;
 
+    /**
+     * Whether this {@link Listener} receives events which have already been cancelled by a {@link Listener} with a
+     * higher priority.
+     */
+    private final boolean receiveCancelled;
+
+    /**
+     * The phases and directions of {@link Event}s that this {@link Listener} receives, where an empty set places no
+     * restriction, and the {@link Events#getRoutes mask} of the routes they correspond to.
+     */
+    private final Set<EventPhase> phases;
+    private final Set<EventDirection> directions;
+    private final int routes;
+
+    /**
+     * The sorted, distinct keys of the {@link Keyed} events that this {@link Listener} receives, where an empty array
+     * places no restriction.
+     */
+    private final int[] keys;
+
+    /**
+     * Whether this {@link Listener} may be invoked concurrently with other parallel listeners of the same priority.
+     */
+    private final boolean parallel;
+
+    /**
+     * The name of the executor that this {@link Listener} is invoked on, or {@code null} to be invoked on the posting
+     * thread.
+     */
+    private final @Nullable String executor;
+
     public Listener(@NotNull Consumer<T> callback) {
         this(null, callback, emptyFilters());
     }
@@ -117,24 +166,83 @@ public final class Listener<@NotNull T> implements Consumer<T>, Comparable<Liste
         this(target, callback, EventPriority.DEFAULT, filters);
     }
 
+    @SafeVarargs
+    public Listener(@Nullable Class<T> target, @NotNull Consumer<T> callback, int priority, @NotNull Predicate<? super T>... filters) {
+        this(target, callback, priority, true, filters);
+    }
+
+    @SafeVarargs
+    public Listener(@Nullable Class<T> target, @NotNull Consumer<T> callback, int priority, boolean receiveCancelled,
+                    @NotNull Predicate<? super T>... filters) {
+        this(target, callback, priority, receiveCancelled, Collections.emptySet(), Collections.emptySet(), filters);
+    }
+
+    /**
+     * Creates a new {@link Listener} instance which only receives {@link Event}s with the specified phase and
+     * direction.
+     *
+     * @param target    The target event type. If {@code null}, an attempt will be made to automatically resolve the
+     *                  target.
+     * @param callback  The event callback function.
+     * @param priority  The priority value. See {@link EventPriority}.
+     * @param phase     The phase of the received events, or {@code null} to receive events of any phase.
+     * @param direction The direction of the received events, or {@code null} to receive events of any direction.
+     * @param filters   Checks used to validate the event object before the {@code callback} is invoked.
+     * @since 3.2.0
+     */
+    @SafeVarargs
+    public Listener(@Nullable Class<T> target, @NotNull Consumer<T> callback, int priority, @Nullable EventPhase phase,
+                    @Nullable EventDirection direction, @NotNull Predicate<? super T>... filters) {
+        this(target, callback, priority, true,
+            phase == null ? Collections.emptySet() : EnumSet.of(phase),
+            direction == null ? Collections.emptySet() : EnumSet.of(direction),
+            filters);
+    }
+
     /**
      * Creates a new {@link Listener} instance.
      *
-     * @param target   The target event type. If {@code null}, an attempt will be made to automatically resolve the target.
-     * @param callback The event callback function.
-     * @param priority The priority value. See {@link EventPriority}.
-     * @param filters  Checks used to validate the event object before the {@code callback} is invoked.
+     * @param target           The target event type. If {@code null}, an attempt will be made to automatically resolve
+     *                         the target.
+     * @param callback         The event callback function.
+     * @param priority         The priority value. See {@link EventPriority}.
+     * @param receiveCancelled Whether the callback is invoked for {@link Cancellable} events that have already been
+     *                         cancelled. See {@link #isReceiveCancelled()}.
+     * @param phases           The phases of the {@link Event}s that are received. If empty, events of any phase are
+     *                         received.
+     * @param directions       The directions of the {@link Event}s that are received. If empty, events of any
+     *                         direction are received.
+     * @param filters          Checks used to validate the event object before the {@code callback} is invoked.
      * @throws EventTypeException    If the event target isn't a {@link Events#validateEventType(Type) valid event type}.
      *                               This could happen unexpectedly if the target isn't specified, and the TypeResolver
      *                               resolves a generic superclass instead of the intended target. In this case, the event
-     *                               target should be explicitly specified.
+     *                               target should be explicitly specified. Also thrown if phases or directions are
+     *                               specified, and the target isn't an {@link Event} type.
      * @throws IllegalStateException If the event target can't be automatically resolved from the callback
      */
+    @SafeVarargs
+    public Listener(@Nullable Class<T> target, @NotNull Consumer<T> callback, int priority, boolean receiveCancelled,
+                    @NotNull Set<EventPhase> phases, @NotNull Set<EventDirection> directions,
+                    @NotNull Predicate<? super T>... filters) {
+        this(target, callback, priority, receiveCancelled, phases, directions, EMPTY_KEYS, false, null, filters);
+    }
+
     @SuppressWarnings("unchecked")
     @SafeVarargs
-    public Listener(@Nullable Class<T> target, @NotNull Consumer<T> callback, int priority, @NotNull Predicate<? super T>... filters) {
+    private Listener(@Nullable Class<T> target, @NotNull Consumer<T> callback, int priority, boolean receiveCancelled,
+                     @NotNull Set<EventPhase> phases, @NotNull Set<EventDirection> directions, int[] keys,
+                     boolean parallel, @Nullable String executor, @NotNull Predicate<? super T>... filters) {
         this.callback = Util.predicated(callback, filters);
+        this.body = callback;
+        this.filters = filters.length == 0 ? emptyFilters() : filters.clone();
         this.priority = priority;
+        this.receiveCancelled = receiveCancelled;
+        this.phases = phases.isEmpty() ? Collections.emptySet() : Collections.unmodifiableSet(EnumSet.copyOf(phases));
+        this.directions = directions.isEmpty() ? Collections.emptySet() : Collections.unmodifiableSet(EnumSet.copyOf(directions));
+        this.routes = Events.getRoutes(this.phases, this.directions);
+        this.keys = keys;
+        this.parallel = parallel;
+        this.executor = executor;
         if (target != null) {
             this.target = target;
         } else {
@@ -148,6 +256,19 @@ public final class Listener<@NotNull T> implements Consumer<T>, Comparable<Liste
                 throw new IllegalStateException("Unable to resolve target type from callback: " + callback.getClass().getName());
             }
         }
+        validateRoutes(this.target, this.routes);
+    }
+
+    /**
+     * Ensures that a listener which is restricted to certain phases or directions targets a type whose events are
+     * routed. Supertypes of {@link Event} are allowed, as their listeners receive {@link Event}s with
+     * {@link EventBusBuilder#setSuperListeners() super listeners}, and a resolved target may be such a supertype until
+     * it is {@link #setTarget corrected}.
+     */
+    private static void validateRoutes(Class<?> target, int routes) {
+        if (routes != Events.ALL_ROUTES && !Event.class.isAssignableFrom(target) && !target.isAssignableFrom(Event.class)) {
+            throw new EventTypeException("Listeners with phases or directions must target an Event type: " + target.getName());
+        }
     }
 
     /**
@@ -156,7 +277,8 @@ public final class Listener<@NotNull T> implements Consumer<T>, Comparable<Liste
      * type when using a method reference to a method whose parameter isn't the exact event type.
      *
      * @param target The new target
-     * @throws EventTypeException      If the new target isn't a valid event type
+     * @throws EventTypeException      If the new target isn't a valid event type, or this listener has phases or
+     *                                 directions and the new target isn't an {@link Event} type
      * @throws ListenerTargetException If the existing target isn't assignable from the new target
      */
     public void setTarget(@NotNull Class<T> target) {
@@ -166,6 +288,7 @@ public final class Listener<@NotNull T> implements Consumer<T>, Comparable<Liste
         
 	    Objects.requireNonNull(target, "Target type cannot be null.");
         Events.validateEventType(target);
+        validateRoutes(target, this.routes);
         
         if (this.target != null && !this.target.isAssignableFrom(target)) {
             throw new ListenerTargetException("Current target type (" + this.target.getName() +
@@ -195,6 +318,198 @@ public final class Listener<@NotNull T> implements Consumer<T>, Comparable<Liste
         this.callback.accept(event);
     }
 
+    /**
+     * Returns whether this {@link Listener} receives {@link Cancellable} events which have already been cancelled by
+     * a {@link Listener} with a higher priority. If {@code false}, the built-in {@link ListenerList} implementations
+     * skip this {@link Listener} once the event is cancelled. The default value is {@code true}.
+     *
+     * @return Whether cancelled events are received
+     * @since 3.2.0
+     */
+    public boolean isReceiveCancelled() {
+        return this.receiveCancelled;
+    }
+
+    /**
+     * Returns the phases of the {@link Event}s that this {@link Listener} receives. If empty, events of any phase are
+     * received, including events without a phase.
+     *
+     * @return An unmodifiable set of phases
+     * @since 3.2.0
+     */
+    public @NotNull Set<EventPhase> getPhases() {
+        return this.phases;
+    }
+
+    /**
+     * Returns the directions of the {@link Event}s that this {@link Listener} receives. If empty, events of any
+     * direction are received, including events without a direction.
+     *
+     * @return An unmodifiable set of directions
+     * @since 3.2.0
+     */
+    public @NotNull Set<EventDirection> getDirections() {
+        return this.directions;
+    }
+
+    /**
+     * Returns the mask of the {@link Event#getRoute() routes} that this {@link Listener} receives, which is
+     * {@link Events#ALL_ROUTES} unless its phases or directions are restricted. Events which aren't instances of
+     * {@link Event} always have route {@code 0}.
+     *
+     * @return The route mask
+     * @since 3.2.0
+     */
+    public int getRoutes() {
+        return this.routes;
+    }
+
+    /**
+     * Returns the keys of the {@link Keyed} events that this {@link Listener} receives. If empty, events with any key
+     * are received.
+     *
+     * @return A copy of the sorted, distinct keys
+     * @see #withKeys
+     * @since 3.2.0
+     */
+    public @NotNull int[] getKeys() {
+        return this.keys.length == 0 ? this.keys : this.keys.clone();
+    }
+
+    /**
+     * Returns whether this {@link Listener} only receives the events with certain {@link #getKeys() keys}.
+     *
+     * @return Whether this listener has keys
+     * @since 3.2.0
+     */
+    public boolean isKeyed() {
+        return this.keys.length != 0;
+    }
+
+    /**
+     * Creates a copy of this {@link Listener}, including its filters, which only receives the events with one of the
+     * specified keys. The target must be a {@link Keyed} event type, since the keys are matched against
+     * {@link Keyed#getKey()}.
+     *
+     * @param keys The keys of the received events. If empty, events with any key are received.
+     * @return The copy
+     * @throws EventTypeException If keys are specified, and the target isn't a {@link Keyed} type
+     * @since 3.2.0
+     */
+    public @NotNull Listener<T> withKeys(int... keys) {
+        if (keys.length != 0 && !Keyed.class.isAssignableFrom(this.target)) {
+            throw new EventTypeException("Keyed listener targets must implement Keyed: " + this.target.getName());
+        }
+        final int[] sorted = keys.length == 0 ? EMPTY_KEYS : Arrays.stream(keys).sorted().distinct().toArray();
+        return new Listener<>(this.target, this.body, this.priority, this.receiveCancelled, this.phases,
+            this.directions, sorted, this.parallel, this.executor, this.filters);
+    }
+
+    /**
+     * Returns whether this {@link Listener} may be invoked concurrently with the other parallel listeners of the same
+     * priority, when the {@link EventBus} has been built with {@link EventBusBuilder#setParallelPool parallel
+     * dispatch}. Otherwise, this has no effect. The default value is {@code false}.
+     *
+     * @return Whether this listener is parallel
+     * @see #withParallel
+     * @since 3.2.0
+     */
+    public boolean isParallel() {
+        return this.parallel;
+    }
+
+    /**
+     * Creates a copy of this {@link Listener}, including its filters, which may be invoked concurrently with the other
+     * parallel listeners of the same priority. Parallel listeners must not depend on the order in which they are
+     * invoked, or on whether the event was cancelled by another listener of the same priority.
+     *
+     * @param parallel Whether the copy is parallel
+     * @return The copy
+     * @see #isParallel()
+     * @since 3.2.0
+     */
+    public @NotNull Listener<T> withParallel(boolean parallel) {
+        return new Listener<>(this.target, this.body, this.priority, this.receiveCancelled, this.phases,
+            this.directions, this.keys, parallel, this.executor, this.filters);
+    }
+
+    /**
+     * Returns the name of the executor that this {@link Listener} is invoked on, which is registered with
+     * {@link EventBusBuilder#addExecutor}. If {@code null}, this listener is invoked on the thread which posts the
+     * event. The default value is {@code null}.
+     *
+     * @return The executor name, or {@code null}
+     * @see #withExecutor
+     * @since 3.2.0
+     */
+    public @Nullable String getExecutor() {
+        return this.executor;
+    }
+
+    /**
+     * Creates a copy of this {@link Listener}, including its filters, which is invoked on the executor with the
+     * specified name. When an event is posted from a thread other than the executor's, the bus hands the event to the
+     * executor along with the other listeners of the same executor, and they are invoked there in priority order after
+     * the listeners on the posting thread. The executors are handed the event one after another, so listeners never
+     * observe it concurrently, and a pooled event is only released once the last of them has been invoked.
+     *
+     * @param executor The name of the executor registered with {@link EventBusBuilder#addExecutor}, or {@code null} to
+     *                 invoke the copy on the posting thread
+     * @return The copy
+     * @see #getExecutor()
+     * @since 3.2.0
+     */
+    public @NotNull Listener<T> withExecutor(@Nullable String executor) {
+        return new Listener<>(this.target, this.body, this.priority, this.receiveCancelled, this.phases,
+            this.directions, this.keys, this.parallel, executor, this.filters);
+    }
+
+    /**
+     * Creates a copy of this {@link Listener} with the same target, priority, routing options, keys, parallelism and
+     * executor, which invokes the specified callback instead. The filters of this {@link Listener} are not copied, so the
+     * callback is usually based on {@link #getCallback()}.
+     *
+     * @param callback The callback of the copy
+     * @return The copy
+     * @since 3.2.0
+     */
+    public @NotNull Listener<T> withCallback(@NotNull Consumer<T> callback) {
+        return new Listener<>(this.target, callback, this.priority, this.receiveCancelled, this.phases, this.directions,
+            this.keys, this.parallel, this.executor);
+    }
+
+    /**
+     * Returns the body of this {@link Listener}, which is invoked by {@link #getCallback()} if all filters pass.
+     * Dispatchers which evaluate the {@link #getFilters() filters} themselves call this directly.
+     *
+     * @return The unfiltered body
+     * @since 3.2.0
+     */
+    public @NotNull Consumer<T> getBody() {
+        return this.body;
+    }
+
+    /**
+     * Returns the filters of this {@link Listener}, in the order they are tested.
+     *
+     * @return A copy of the filters
+     * @since 3.2.0
+     */
+    public @NotNull Predicate<? super T>[] getFilters() {
+        return this.filters.length == 0 ? this.filters : this.filters.clone();
+    }
+
+    /**
+     * Returns the function that is invoked by {@link #accept}, which includes this {@link Listener}'s filters. This is
+     * exposed so that dispatchers can call the function directly, giving each call site a single receiver type.
+     *
+     * @return The filtered callback
+     * @since 3.2.0
+     */
+    public @NotNull Consumer<T> getCallback() {
+        return this.callback;
+    }
+
     @Override
     public int compareTo(@NotNull Listener<?> o) {
         /*
@@ -1,45 +1,108 @@
 package dev.bat.alpinefork.listener;
 
+import dev.bat.alpinefork.event.Cancellable;
+import dev.bat.alpinefork.event.dispatch.CancellationSplit;
 import dev.bat.alpinefork.event.dispatch.EventDispatcher;
+import dev.bat.alpinefork.event.dispatch.FilterPlan;
+import dev.bat.alpinefork.util.Util;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.Collection;
 
 /**
- * An implementation of {@link ListenerList} which is backed by
+ * An implementation of {@link ListenerList} which is backed by a growable array, similar to {@link java.util.ArrayList}.
+ * This list is not thread-safe, however, it may be wrapped by one of the wrappers provided in {@link ListenerList}.
  *
  * @author Brady
  * @since 3.0.0
  */
 public final class ListenerArrayList<T> implements ListenerList<T> {
 
-    private final ArrayList<Listener<T>> backing;
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private Listener<T>[] backing;
+    private int size;
+    private CancellationSplit<T> split;
+    private FilterPlan<T> plan;
 
     public ListenerArrayList() {
-        this.backing = new ArrayList<>();
+        this.backing = newListenerArray(0);
     }
 
     @Override
     public void post(@NotNull T event, @NotNull EventDispatcher dispatcher) {
-        dispatcher.dispatch(event, this.backing.iterator());
+        if (this.plan != null) {
+            dispatcher.dispatch(event, this.plan);
+            return;
+        }
+        if (this.split != null && event instanceof Cancellable) {
+            dispatcher.dispatch(event, (Cancellable) event, this.split);
+            return;
+        }
+        dispatcher.dispatch(event, this.backing, this.size);
     }
 
     @Override
     public boolean add(@NotNull Listener<T> listener) {
-        if (this.backing.contains(listener)) {
+        if (this.indexOf(listener) >= 0) {
             return false;
         }
-        int index = Collections.binarySearch(this.backing, listener);
+        int index = Arrays.binarySearch(this.backing, 0, this.size, listener);
         if (index < 0) {
             index = -index - 1;
         }
-        this.backing.add(index, listener);
+        if (this.size == this.backing.length) {
+            this.backing = Arrays.copyOf(this.backing, Math.max(DEFAULT_CAPACITY, this.size + (this.size >> 1)));
+        }
+        System.arraycopy(this.backing, index, this.backing, index + 1, this.size - index);
+        this.backing[index] = listener;
+        this.size++;
+        this.split = CancellationSplit.of(this.backing, this.size);
+        this.plan = FilterPlan.of(this.backing, this.size);
         return true;
     }
 
     @Override
     public boolean remove(@NotNull Listener<T> listener) {
-        return this.backing.remove(listener);
+        final int index = this.indexOf(listener);
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(this.backing, index + 1, this.backing, index, this.size - index - 1);
+        this.backing[--this.size] = null;
+        this.split = CancellationSplit.of(this.backing, this.size);
+        this.plan = FilterPlan.of(this.backing, this.size);
+        return true;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    @Override
+    public void update(@NotNull Collection<Listener<T>> added, @NotNull Collection<Listener<T>> removed) {
+        final Listener<T>[] merged = Util.mergeSorted(this.backing, this.size, added, removed, ListenerArrayList::newListenerArray);
+        if (merged != null) {
+            this.backing = merged;
+            this.size = merged.length;
+            this.split = CancellationSplit.of(this.backing, this.size);
+            this.plan = FilterPlan.of(this.backing, this.size);
+        }
+    }
+
+    private int indexOf(Listener<T> listener) {
+        for (int i = 0; i < this.size; i++) {
+            if (this.backing[i].equals(listener)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Listener<T>[] newListenerArray(int size) {
+        return (Listener<T>[]) new Listener[size];
     }
 }
@@ -5,15 +5,23 @@ import dev.bat.alpinefork.event.dispatch.EventDispatcher;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
-import java.util.function.BiConsumer;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * A {@link ListenerList} which may have children {@link ListenerGroup} instances {@link #addChild added}, allowing
  * their listeners to be invoked non-recursively. This is used to create a structure of lists which mimicks the
  * flattened class hierarchy of an event class, and is utilized by the {@link EventBusBuilder#isSuperListeners()}
  * setting.
+ * <p>
+ * The backing list of a group contains its own listeners merged with the listeners of all of its children, so posting
+ * an event is a single {@link ListenerList#post} in global priority order. Changes to a group are applied to the
+ * backing list of every group which it is a child of, as they happen.
  *
  * @author Brady
  * @since 3.0.0
@@ -21,97 +29,103 @@ import java.util.function.BiConsumer;
 public final class ListenerGroup<T> implements ListenerList<T> {
 
     private final ListenerList<T> backing;
-    private final List<ListenerGroup<? super T>> children;
-    private BiConsumer<T, EventDispatcher> distributor;
+    private final Object lock;
+
+    /**
+     * The listeners that were added to this group directly, guarded by {@link #lock}.
+     */
+    private final Set<Listener<T>> own;
+
+    /**
+     * The groups whose backing list includes the listeners of this group, including this group itself.
+     */
+    private final List<ListenerGroup<? extends T>> dependents;
 
     public ListenerGroup(@NotNull ListenerList<T> backing) {
+        this(backing, new Object());
+    }
+
+    /**
+     * Creates a new group. Groups which are linked by {@link #addChild} must share the same {@code lock}.
+     *
+     * @param backing The list containing the listeners of this group and its children
+     * @param lock    The object to synchronize modifications on
+     * @since 3.2.0
+     */
+    public ListenerGroup(@NotNull ListenerList<T> backing, @NotNull Object lock) {
         this.backing = Objects.requireNonNull(backing);
-        this.children = new ArrayList<>();
-        this.distributor = this.createDistributor();
+        this.lock = Objects.requireNonNull(lock);
+        this.own = new LinkedHashSet<>();
+        this.dependents = new CopyOnWriteArrayList<>();
+        this.dependents.add(this);
     }
 
     @Override
     public void post(@NotNull T event, @NotNull EventDispatcher dispatcher) {
-        this.distributor.accept(event, dispatcher);
+        this.backing.post(event, dispatcher);
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public boolean add(@NotNull Listener<T> listener) {
-        return this.backing.add(listener);
+        synchronized (this.lock) {
+            if (!this.own.add(listener)) {
+                return false;
+            }
+            for (ListenerGroup<? extends T> dependent : this.dependents) {
+                // A Listener<T> accepts every subtype of T
+                ((ListenerGroup<T>) dependent).backing.add(listener);
+            }
+            return true;
+        }
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public boolean remove(@NotNull Listener<T> listener) {
-        return this.backing.remove(listener);
-    }
-
-    private void post0(T event, EventDispatcher dispatcher) {
-        this.backing.post(event, dispatcher);
+        synchronized (this.lock) {
+            if (!this.own.remove(listener)) {
+                return false;
+            }
+            for (ListenerGroup<? extends T> dependent : this.dependents) {
+                ((ListenerGroup<T>) dependent).backing.remove(listener);
+            }
+            return true;
+        }
     }
 
-    public void addChild(ListenerGroup<? super T> child) {
-        this.children.add(child);
-        this.distributor = this.createDistributor();
+    @Override
+    public boolean isEmpty() {
+        return this.backing.isEmpty();
     }
 
-    private BiConsumer<T, EventDispatcher> createDistributor() {
-        switch (this.children.size()) {
-            case 0: {
-                return this::post0;
-            }
-            case 1: {
-                final ListenerGroup<? super T> g0 = this.children.get(0);
-                return (event, dispatcher) -> {
-                    this.post0(event, dispatcher);
-                    g0.post0(event, dispatcher);
-                };
-            }
-            case 2: {
-                final ListenerGroup<? super T> g0 = this.children.get(0), g1 = this.children.get(1);
-                return (event, dispatcher) -> {
-                    this.post0(event, dispatcher);
-                    g0.post0(event, dispatcher);
-                    g1.post0(event, dispatcher);
-                };
-            }
-            case 3: {
-                final ListenerGroup<? super T> g0 = this.children.get(0), g1 = this.children.get(1), g2 = this.children.get(2);
-                return (event, dispatcher) -> {
-                    this.post0(event, dispatcher);
-                    g0.post0(event, dispatcher);
-                    g1.post0(event, dispatcher);
-                    g2.post0(event, dispatcher);
-                };
-            }
-            case 4: {
-                final ListenerGroup<? super T> g0 = this.children.get(0), g1 = this.children.get(1), g2 = this.children.get(2), g3 = this.children.get(3);
-                return (event, dispatcher) -> {
-                    this.post0(event, dispatcher);
-                    g0.post0(event, dispatcher);
-                    g1.post0(event, dispatcher);
-                    g2.post0(event, dispatcher);
-                    g3.post0(event, dispatcher);
-                };
+    @SuppressWarnings("unchecked")
+    @Override
+    public void update(@NotNull Collection<Listener<T>> added, @NotNull Collection<Listener<T>> removed) {
+        synchronized (this.lock) {
+            final List<Listener<T>> removing = new ArrayList<>();
+            for (Listener<T> listener : removed) {
+                if (this.own.remove(listener)) {
+                    removing.add(listener);
+                }
             }
-            case 5: {
-                final ListenerGroup<? super T> g0 = this.children.get(0), g1 = this.children.get(1), g2 = this.children.get(2), g3 = this.children.get(3), g4 = this.children.get(4);
-                return (event, dispatcher) -> {
-                    this.post0(event, dispatcher);
-                    g0.post0(event, dispatcher);
-                    g1.post0(event, dispatcher);
-                    g2.post0(event, dispatcher);
-                    g3.post0(event, dispatcher);
-                    g4.post0(event, dispatcher);
-                };
+            final List<Listener<T>> adding = new ArrayList<>();
+            for (Listener<T> listener : added) {
+                if (this.own.add(listener)) {
+                    adding.add(listener);
+                }
             }
-            default: {
-                return (event, dispatcher) -> {
-                    this.post0(event, dispatcher);
-                    for (ListenerGroup<? super T> child : this.children) {
-                        child.post0(event, dispatcher);
-                    }
-                };
+            for (ListenerGroup<? extends T> dependent : this.dependents) {
+                ((ListenerGroup<T>) dependent).backing.update(adding, removing);
             }
         }
     }
+
+    @SuppressWarnings("unchecked")
+    public void addChild(ListenerGroup<? super T> child) {
+        synchronized (this.lock) {
+            this.backing.update(new ArrayList<>((Collection<Listener<T>>) (Collection<?>) child.own), Collections.emptyList());
+            ((ListenerGroup<T>) child).dependents.add(this);
+        }
+    }
 }
@@ -5,6 +5,7 @@ import dev.bat.alpinefork.listener.concurrent.ReadWriteLockListenerList;
 import dev.bat.alpinefork.listener.concurrent.SynchronizedListenerList;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
 import java.util.concurrent.locks.ReadWriteLock;
 
 /**
@@ -45,6 +46,47 @@ public interface ListenerList<T> {
      */
     boolean remove(@NotNull Listener<T> listener);
 
+    /**
+     * Returns whether this list contains no listeners, meaning that a {@link #post} wouldn't invoke any. Callers use
+     * this to skip posts entirely, so implementations may return {@code false} when they can't tell. The default
+     * implementation always returns {@code false}.
+     *
+     * @return {@code true} if this list is known to be empty
+     * @since 3.2.0
+     */
+    default boolean isEmpty() {
+        return false;
+    }
+
+    /**
+     * Removes the {@code removed} listeners from this list, then adds the {@code added} listeners which aren't already
+     * present, as a single change. The built-in lists which publish snapshots of their listeners build a single new
+     * snapshot in one pass, so a post observes either none or all of the changes. The default implementation calls
+     * {@link #remove} and {@link #add} for each listener.
+     *
+     * @param added   The listeners to add
+     * @param removed The listeners to remove
+     * @since 3.2.0
+     */
+    default void update(@NotNull Collection<Listener<T>> added, @NotNull Collection<Listener<T>> removed) {
+        removed.forEach(this::remove);
+        added.forEach(this::add);
+    }
+
+    /**
+     * Returns the shared list which is used for event types without any listeners. Posting to it does nothing,
+     * {@link #remove} and {@link #update} with no added listeners have no effect, and adding a listener throws an
+     * {@link UnsupportedOperationException}.
+     *
+     * @param <T> The event type
+     * @return The empty list
+     * @since 3.2.0
+     */
+    @SuppressWarnings("unchecked")
+    static <T> ListenerList<T> empty() {
+        return EmptyListenerList.INSTANCE;
+    }
+
     /**
      * Creates a new wrapper around the specified {@link ListenerList} which synchronizes all operations on
      * {@code this}, i.e. the wrapper object itself.
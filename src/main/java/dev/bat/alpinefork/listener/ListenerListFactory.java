@@ -2,10 +2,16 @@ package dev.bat.alpinefork.listener;
 
 import dev.bat.alpinefork.bus.EventBusBuilder;
 import dev.bat.alpinefork.bus.EventManager;
+import dev.bat.alpinefork.event.Event;
 import dev.bat.alpinefork.event.Events;
+import dev.bat.alpinefork.event.Keyed;
 import dev.bat.alpinefork.listener.concurrent.CopyOnWriteListenerList;
+import dev.bat.alpinefork.listener.concurrent.GeneratedListenerList;
+import dev.bat.alpinefork.listener.concurrent.LockFreeListenerList;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Objects;
+
 /**
  * Used by {@link EventManager} to create new {@link ListenerList} instances for each event type.
  *
@@ -35,4 +41,72 @@ public interface ListenerListFactory {
     static @NotNull ListenerListFactory defaultFactory() {
         return DefaultListenerListFactory.INSTANCE;
     }
+
+    /**
+     * Returns an implementation of {@link ListenerListFactory} which creates a new instance of
+     * {@link GeneratedListenerList} upon each {@link ListenerListFactory#create} invocation. Dispatch through these
+     * lists calls each listener from its own call site, allowing listener bodies to be inlined into the dispatch.
+     *
+     * @return The generated factory
+     * @since 3.2.0
+     */
+    static @NotNull ListenerListFactory generated() {
+        return GeneratedListenerListFactory.INSTANCE;
+    }
+
+    /**
+     * Returns an implementation of {@link ListenerListFactory} which creates a new instance of
+     * {@link LockFreeListenerList} upon each {@link ListenerListFactory#create} invocation. These lists never lock,
+     * which avoids contention when many threads subscribe to the same event type at once.
+     *
+     * @return The lock-free factory
+     * @since 3.2.0
+     */
+    static @NotNull ListenerListFactory lockFree() {
+        return LockFreeListenerListFactory.INSTANCE;
+    }
+
+    /**
+     * Returns a factory which creates the lists of the specified factory, but which gives each {@link Event} type a
+     * list that dispatches each event only to the listeners of its {@link Event#getRoute() route}. This is used by
+     * {@link EventManager} so that {@link Listener}s restricted to certain phases or directions are never invoked for
+     * other events. Lists for other types are created by the specified factory directly.
+     *
+     * @param factory The factory which creates the underlying lists
+     * @return The routing factory
+     * @since 3.2.0
+     */
+    static @NotNull ListenerListFactory routed(@NotNull ListenerListFactory factory) {
+        Objects.requireNonNull(factory);
+        return new ListenerListFactory() {
+            @Override
+            public <T> @NotNull ListenerList<T> create(Class<T> eventType) {
+                return Event.class.isAssignableFrom(eventType)
+                    ? new RoutedListenerList<>(factory, eventType)
+                    : factory.create(eventType);
+            }
+        };
+    }
+
+    /**
+     * Returns a factory which creates the lists of the specified factory, but which gives each {@link Keyed} event type
+     * a list that indexes its {@link Listener#isKeyed() keyed} listeners by key, and dispatches each event only to the
+     * listeners of its key and the unkeyed listeners. This is used by {@link EventManager}. Lists for other types are
+     * created by the specified factory directly.
+     *
+     * @param factory The factory which creates the underlying lists
+     * @return The keyed factory
+     * @since 3.2.0
+     */
+    static @NotNull ListenerListFactory keyed(@NotNull ListenerListFactory factory) {
+        Objects.requireNonNull(factory);
+        return new ListenerListFactory() {
+            @Override
+            public <T> @NotNull ListenerList<T> create(Class<T> eventType) {
+                return Keyed.class.isAssignableFrom(eventType)
+                    ? new KeyedListenerList<>(factory, eventType)
+                    : factory.create(eventType);
+            }
+        };
+    }
 }
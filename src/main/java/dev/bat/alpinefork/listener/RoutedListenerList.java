@@ -0,0 +1,170 @@
+package dev.bat.alpinefork.listener;
+
+import dev.bat.alpinefork.event.Event;
+import dev.bat.alpinefork.event.Events;
+import dev.bat.alpinefork.event.dispatch.EventDispatcher;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A {@link ListenerList} for an {@link Event} type, which keeps a separate list for each {@link Event#getRoute() route}
+ * once a {@link Listener} restricted to certain phases or directions is added. Each route list only contains the
+ * listeners which receive that route, so posting an event is a single {@link ListenerList#post} on the list of its
+ * route, and listeners don't need to check the phase or direction themselves. Until then, all listeners are kept in a
+ * single list.
+ *
+ * @author Bat
+ * @since 3.2.0
+ */
+final class RoutedListenerList<T> implements ListenerList<T> {
+
+    private final ListenerListFactory factory;
+    private final Class<T> type;
+    private final ListenerList<T> unrouted;
+
+    /**
+     * The lists of each route, or {@code null} if no listener has been restricted to certain routes.
+     */
+    private volatile ListenerList<T>[] routes;
+
+    /**
+     * All listeners in this list, guarded by {@code this}, used to populate {@link #routes} when it is created.
+     */
+    private final Set<Listener<T>> listeners;
+
+    RoutedListenerList(ListenerListFactory factory, Class<T> type) {
+        this.factory = factory;
+        this.type = type;
+        this.unrouted = factory.create(type);
+        this.listeners = new LinkedHashSet<>();
+    }
+
+    @Override
+    public void post(@NotNull T event, @NotNull EventDispatcher dispatcher) {
+        final ListenerList<T>[] routes = this.routes;
+        if (routes == null) {
+            this.unrouted.post(event, dispatcher);
+        } else {
+            routes[((Event) event).getRoute()].post(event, dispatcher);
+        }
+    }
+
+    @Override
+    public synchronized boolean add(@NotNull Listener<T> listener) {
+        if (this.listeners.contains(listener)) {
+            return false;
+        }
+        this.listeners.add(listener);
+        if (this.routes == null) {
+            if (listener.getRoutes() == Events.ALL_ROUTES) {
+                return this.unrouted.add(listener);
+            }
+            this.routes = this.createRoutes();
+            return true;
+        }
+        this.addRoutes(this.routes, listener);
+        return true;
+    }
+
+    @Override
+    public synchronized boolean remove(@NotNull Listener<T> listener) {
+        if (!this.listeners.remove(listener)) {
+            return false;
+        }
+        final ListenerList<T>[] routes = this.routes;
+        if (routes == null) {
+            return this.unrouted.remove(listener);
+        }
+        final int mask = listener.getRoutes();
+        for (int route = 0; route < routes.length; route++) {
+            if ((mask & 1 << route) != 0) {
+                routes[route].remove(listener);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        final ListenerList<T>[] routes = this.routes;
+        if (routes == null) {
+            return this.unrouted.isEmpty();
+        }
+        for (ListenerList<T> route : routes) {
+            if (!route.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized void update(@NotNull Collection<Listener<T>> added, @NotNull Collection<Listener<T>> removed) {
+        final List<Listener<T>> removing = new ArrayList<>();
+        for (Listener<T> listener : removed) {
+            if (this.listeners.remove(listener)) {
+                removing.add(listener);
+            }
+        }
+        final List<Listener<T>> adding = new ArrayList<>();
+        boolean restricted = false;
+        for (Listener<T> listener : added) {
+            if (this.listeners.add(listener)) {
+                adding.add(listener);
+                restricted |= listener.getRoutes() != Events.ALL_ROUTES;
+            }
+        }
+
+        final ListenerList<T>[] routes = this.routes;
+        if (routes == null) {
+            if (restricted) {
+                this.routes = this.createRoutes();
+            } else {
+                this.unrouted.update(adding, removing);
+            }
+            return;
+        }
+        for (int route = 0; route < routes.length; route++) {
+            final List<Listener<T>> routeAdded = withRoute(adding, route);
+            final List<Listener<T>> routeRemoved = withRoute(removing, route);
+            if (!routeAdded.isEmpty() || !routeRemoved.isEmpty()) {
+                routes[route].update(routeAdded, routeRemoved);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private ListenerList<T>[] createRoutes() {
+        final ListenerList<T>[] routes = new ListenerList[Events.ROUTES];
+        for (int route = 0; route < routes.length; route++) {
+            routes[route] = this.factory.create(this.type);
+            routes[route].update(withRoute(this.listeners, route), Collections.emptyList());
+        }
+        return routes;
+    }
+
+    private static <T> List<Listener<T>> withRoute(Collection<Listener<T>> listeners, int route) {
+        final List<Listener<T>> result = new ArrayList<>();
+        for (Listener<T> listener : listeners) {
+            if ((listener.getRoutes() & 1 << route) != 0) {
+                result.add(listener);
+            }
+        }
+        return result;
+    }
+
+    private void addRoutes(ListenerList<T>[] routes, Listener<T> listener) {
+        final int mask = listener.getRoutes();
+        for (int route = 0; route < routes.length; route++) {
+            if ((mask & 1 << route) != 0) {
+                routes[route].add(listener);
+            }
+        }
+    }
+}
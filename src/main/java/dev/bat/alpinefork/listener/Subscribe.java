@@ -1,7 +1,13 @@
 package dev.bat.alpinefork.listener;
 
 import dev.bat.alpinefork.bus.EventBus;
+import dev.bat.alpinefork.bus.EventBusBuilder;
+import dev.bat.alpinefork.event.Cancellable;
+import dev.bat.alpinefork.event.Event;
+import dev.bat.alpinefork.event.EventDirection;
+import dev.bat.alpinefork.event.EventPhase;
 import dev.bat.alpinefork.event.EventPriority;
+import dev.bat.alpinefork.event.Keyed;
 import dev.bat.alpinefork.listener.discovery.ListenerDiscoveryStrategy;
 
 import java.lang.annotation.ElementType;
@@ -54,6 +60,75 @@ public @interface Subscribe {
      */
     int priority() default EventPriority.DEFAULT;
 
+    /**
+     * Returns whether the callback method targeted by this annotation is invoked for {@link Cancellable} events which
+     * have already been cancelled by a listener with a higher priority. Specifying a value for this field yields no
+     * effect for {@link Listener} fields.
+     *
+     * @return Whether cancelled events are received
+     * @see Listener#isReceiveCancelled()
+     * @since 3.2.0
+     */
+    boolean receiveCancelled() default true;
+
+    /**
+     * Returns the phases of the {@link Event}s that the callback method targeted by this annotation receives. If
+     * empty, events of any phase are received. Specifying a value for this field yields no effect for {@link Listener}
+     * fields.
+     *
+     * @return The phases for the listener
+     * @see Listener#getPhases()
+     * @since 3.2.0
+     */
+    EventPhase[] phase() default {};
+
+    /**
+     * Returns the directions of the {@link Event}s that the callback method targeted by this annotation receives. If
+     * empty, events of any direction are received. Specifying a value for this field yields no effect for
+     * {@link Listener} fields.
+     *
+     * @return The directions for the listener
+     * @see Listener#getDirections()
+     * @since 3.2.0
+     */
+    EventDirection[] direction() default {};
+
+    /**
+     * Returns the keys of the {@link Keyed} events that the callback method targeted by this annotation receives. If
+     * empty, events with any key are received. The target event type must implement {@link Keyed} if any keys are
+     * specified. Specifying a value for this field yields no effect for {@link Listener} fields, which can use
+     * {@link Listener#withKeys} instead.
+     *
+     * @return The keys for the listener
+     * @see Listener#getKeys()
+     * @since 3.2.0
+     */
+    int[] keys() default {};
+
+    /**
+     * Returns whether the callback method targeted by this annotation may be invoked concurrently with the other
+     * parallel listeners of the same priority. This only has an effect if the {@link EventBus} has been built with
+     * {@link EventBusBuilder#setParallelPool parallel dispatch}. Specifying a value for this field yields no effect
+     * for {@link Listener} fields, which can use {@link Listener#withParallel} instead.
+     *
+     * @return Whether the listener is parallel
+     * @see Listener#isParallel()
+     * @since 3.2.0
+     */
+    boolean parallel() default false;
+
+    /**
+     * Returns the name of the executor that the callback method targeted by this annotation is invoked on, which must
+     * be registered with {@link EventBusBuilder#addExecutor}. If empty, the callback is invoked on the thread which
+     * posts the event. Specifying a value for this field yields no effect for {@link Listener} fields, which can use
+     * {@link Listener#withExecutor} instead.
+     *
+     * @return The executor name
+     * @see Listener#getExecutor()
+     * @since 3.2.0
+     */
+    String executor() default "";
+
     /**
      * Returns an array of filter types to test incoming events for the callback method targeted by this annotation.
      * All filter types must have a no-arg constructor. It is recommended for the constructor to be public, however,
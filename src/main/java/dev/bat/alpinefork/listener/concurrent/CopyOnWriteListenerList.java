@@ -1,13 +1,17 @@
 package dev.bat.alpinefork.listener.concurrent;
 
 import dev.bat.alpinefork.bus.EventManager;
+import dev.bat.alpinefork.event.Cancellable;
+import dev.bat.alpinefork.event.dispatch.CancellationSplit;
 import dev.bat.alpinefork.event.dispatch.EventDispatcher;
+import dev.bat.alpinefork.event.dispatch.FilterPlan;
 import dev.bat.alpinefork.listener.Listener;
 import dev.bat.alpinefork.listener.ListenerList;
 import dev.bat.alpinefork.util.Util;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Arrays;
+import java.util.Collection;
 
 /**
  * A {@link ListenerList} which uses copy-on-write semantics to support thread safety. However, this may cause a race
@@ -20,6 +24,14 @@ import java.util.Arrays;
 public final class CopyOnWriteListenerList<T> implements ListenerList<T> {
 
     private volatile Listener<T>[] listeners;
+    /**
+     * Split of {@link #listeners} for cancellable events, or {@code null} if every listener receives cancelled events.
+     */
+    private volatile CancellationSplit<T> split;
+    /**
+     * Plan of {@link #listeners} which memoizes shared filters, or {@code null} if no filter is shared.
+     */
+    private volatile FilterPlan<T> plan;
     private final Object lock;
 
     public CopyOnWriteListenerList() {
@@ -29,7 +41,18 @@ public final class CopyOnWriteListenerList<T> implements ListenerList<T> {
 
     @Override
     public void post(@NotNull T event, @NotNull EventDispatcher dispatcher) {
-        dispatcher.dispatch(event, Util.arrayIterator(this.listeners));
+        final FilterPlan<T> plan = this.plan;
+        if (plan != null) {
+            dispatcher.dispatch(event, plan);
+            return;
+        }
+        final CancellationSplit<T> split = this.split;
+        if (split != null && event instanceof Cancellable) {
+            dispatcher.dispatch(event, (Cancellable) event, split);
+            return;
+        }
+        final Listener<T>[] arr = this.listeners;
+        dispatcher.dispatch(event, arr, arr.length);
     }
 
     @Override
@@ -52,6 +75,8 @@ public final class CopyOnWriteListenerList<T> implements ListenerList<T> {
             System.arraycopy(arr, index, newArr, index + 1, len - index);
             newArr[index] = listener;
             this.listeners = newArr;
+            this.split = CancellationSplit.of(newArr, newArr.length);
+            this.plan = FilterPlan.of(newArr, newArr.length);
             return true;
         }
     }
@@ -71,10 +96,30 @@ public final class CopyOnWriteListenerList<T> implements ListenerList<T> {
             System.arraycopy(arr, 0, newArr, 0, index);
             System.arraycopy(arr, index + 1, newArr, index, len - index - 1);
             this.listeners = newArr;
+            this.split = CancellationSplit.of(newArr, newArr.length);
+            this.plan = FilterPlan.of(newArr, newArr.length);
             return true;
         }
     }
 
+    @Override
+    public boolean isEmpty() {
+        return this.listeners.length == 0;
+    }
+
+    @Override
+    public void update(@NotNull Collection<Listener<T>> added, @NotNull Collection<Listener<T>> removed) {
+        synchronized (this.lock) {
+            final Listener<T>[] arr = this.listeners;
+            final Listener<T>[] newArr = Util.mergeSorted(arr, arr.length, added, removed, CopyOnWriteListenerList::newListenerArray);
+            if (newArr != null) {
+                this.listeners = newArr;
+                this.split = CancellationSplit.of(newArr, newArr.length);
+                this.plan = FilterPlan.of(newArr, newArr.length);
+            }
+        }
+    }
+
     private static final Listener<?>[] EMPTY_LISTENERS = new Listener<?>[0];
 
     @SuppressWarnings("unchecked")
@@ -0,0 +1,156 @@
+package dev.bat.alpinefork.listener.concurrent;
+
+import dev.bat.alpinefork.event.Cancellable;
+import dev.bat.alpinefork.event.dispatch.CancellationSplit;
+import dev.bat.alpinefork.event.dispatch.EventDispatcher;
+import dev.bat.alpinefork.event.dispatch.ListenerInvoker;
+import dev.bat.alpinefork.listener.Listener;
+import dev.bat.alpinefork.listener.ListenerList;
+import dev.bat.alpinefork.util.Util;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+
+/**
+ * A {@link ListenerList} with the same copy-on-write semantics as {@link CopyOnWriteListenerList}, which posts events
+ * through a {@link ListenerInvoker#generate generated} invoker. The invoker is rebuilt lazily by the first post after
+ * the listeners have changed, so adding many listeners at once only generates a single invoker. This list is best
+ * suited to event types with a stable set of listeners which are posted at a high rate. Cancellable events are not
+ * dispatched through the invoker while the list contains listeners that don't receive cancelled events.
+ *
+ * @author Bat
+ * @since 3.2.0
+ */
+public final class GeneratedListenerList<T> implements ListenerList<T> {
+
+    private volatile Listener<T>[] listeners;
+    private volatile ListenerInvoker<T> invoker;
+    private volatile CancellationSplit<T> split;
+    private final Object lock;
+
+    public GeneratedListenerList() {
+        this.listeners = newListenerArray(0);
+        this.invoker = ListenerInvoker.generate(this.listeners);
+        this.lock = new Object();
+    }
+
+    @Override
+    public void post(@NotNull T event, @NotNull EventDispatcher dispatcher) {
+        final CancellationSplit<T> split = this.split;
+        if (split != null && event instanceof Cancellable) {
+            dispatcher.dispatch(event, (Cancellable) event, split);
+            return;
+        }
+        ListenerInvoker<T> invoker = this.invoker;
+        if (invoker == null) {
+            invoker = this.rebuild();
+        }
+        dispatcher.dispatch(event, invoker);
+    }
+
+    @Override
+    public boolean add(@NotNull Listener<T> listener) {
+        synchronized (this.lock) {
+            Listener<T>[] arr = this.listeners;
+            int index = indexOf(arr, listener);
+            if (index >= 0) {
+                return false;
+            }
+            // Insert after the listeners with the same priority
+            index = -index - 1;
+
+            int len = arr.length;
+            Listener<T>[] newArr = newListenerArray(len + 1);
+            System.arraycopy(arr, 0, newArr, 0, index);
+            System.arraycopy(arr, index, newArr, index + 1, len - index);
+            newArr[index] = listener;
+            this.listeners = newArr;
+            this.split = CancellationSplit.of(newArr, newArr.length);
+            this.invoker = null;
+            return true;
+        }
+    }
+
+    @Override
+    public boolean remove(@NotNull Listener<T> listener) {
+        synchronized (this.lock) {
+            Listener<T>[] arr = this.listeners;
+            int index = indexOf(arr, listener);
+            if (index < 0) {
+                return false;
+            }
+
+            int len = arr.length;
+            Listener<T>[] newArr = newListenerArray(len - 1);
+            System.arraycopy(arr, 0, newArr, 0, index);
+            System.arraycopy(arr, index + 1, newArr, index, len - index - 1);
+            this.listeners = newArr;
+            this.split = CancellationSplit.of(newArr, newArr.length);
+            this.invoker = null;
+            return true;
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.listeners.length == 0;
+    }
+
+    @Override
+    public void update(@NotNull Collection<Listener<T>> added, @NotNull Collection<Listener<T>> removed) {
+        synchronized (this.lock) {
+            final Listener<T>[] arr = this.listeners;
+            final Listener<T>[] newArr = Util.mergeSorted(arr, arr.length, added, removed, GeneratedListenerList::newListenerArray);
+            if (newArr != null) {
+                this.listeners = newArr;
+                this.split = CancellationSplit.of(newArr, newArr.length);
+                this.invoker = null;
+            }
+        }
+    }
+
+    private ListenerInvoker<T> rebuild() {
+        // Generate outside the lock, it's fine if racing posts both generate an invoker for the same snapshot
+        final Listener<T>[] snapshot = this.listeners;
+        final ListenerInvoker<T> invoker = ListenerInvoker.generate(snapshot);
+        synchronized (this.lock) {
+            // Only publish the invoker if the listeners haven't changed in the meantime
+            if (this.listeners == snapshot) {
+                this.invoker = invoker;
+            }
+        }
+        return invoker;
+    }
+
+    /**
+     * Returns the index of the specified listener, or {@code -(insertion point) - 1} if it isn't present, where the
+     * insertion point is the index after the last listener with the same priority.
+     */
+    private static int indexOf(Listener<?>[] arr, Listener<?> listener) {
+        final int priority = listener.getPriority();
+        // Binary search for the first listener with a priority less than or equal to the listener's
+        int lo = 0;
+        int hi = arr.length;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (arr[mid].getPriority() > priority) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        for (; lo < arr.length && arr[lo].getPriority() == priority; lo++) {
+            if (arr[lo].equals(listener)) {
+                return lo;
+            }
+        }
+        return -lo - 1;
+    }
+
+    private static final Listener<?>[] EMPTY_LISTENERS = new Listener<?>[0];
+
+    @SuppressWarnings("unchecked")
+    private static <T> Listener<T>[] newListenerArray(int size) {
+        return (Listener<T>[]) (size == 0 ? EMPTY_LISTENERS : new Listener[size]);
+    }
+}
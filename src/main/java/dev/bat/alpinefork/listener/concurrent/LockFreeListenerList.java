@@ -0,0 +1,170 @@
+package dev.bat.alpinefork.listener.concurrent;
+
+import dev.bat.alpinefork.bus.EventManager;
+import dev.bat.alpinefork.event.Cancellable;
+import dev.bat.alpinefork.event.dispatch.CancellationSplit;
+import dev.bat.alpinefork.event.dispatch.EventDispatcher;
+import dev.bat.alpinefork.event.dispatch.FilterPlan;
+import dev.bat.alpinefork.listener.Listener;
+import dev.bat.alpinefork.listener.ListenerList;
+import dev.bat.alpinefork.util.Util;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * A {@link ListenerList} with the same copy-on-write semantics as {@link CopyOnWriteListenerList}, but which never
+ * locks. Modifications build a new sorted snapshot and publish it with a compare-and-set, retrying if another thread
+ * published a snapshot in the meantime, and {@link #post} reads the current snapshot without waiting. This suits
+ * event types which many threads subscribe to concurrently. As with {@link CopyOnWriteListenerList}, a
+ * {@link Listener} may still be invoked by a {@link #post} that started before {@link EventManager#unsubscribe}
+ * returned.
+ * <p>
+ * Looking up a {@link Listener} only scans the listeners with the same priority, which are found by binary search.
+ *
+ * @author Bat
+ * @since 3.2.0
+ */
+public final class LockFreeListenerList<T> implements ListenerList<T> {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<LockFreeListenerList, Snapshot> SNAPSHOT =
+        AtomicReferenceFieldUpdater.newUpdater(LockFreeListenerList.class, Snapshot.class, "snapshot");
+
+    private static final Snapshot<?> EMPTY = new Snapshot<>(newListenerArray(0));
+
+    private volatile Snapshot<T> snapshot;
+
+    @SuppressWarnings("unchecked")
+    public LockFreeListenerList() {
+        this.snapshot = (Snapshot<T>) EMPTY;
+    }
+
+    @Override
+    public void post(@NotNull T event, @NotNull EventDispatcher dispatcher) {
+        final Snapshot<T> snapshot = this.snapshot;
+        if (snapshot.plan != null) {
+            dispatcher.dispatch(event, snapshot.plan);
+            return;
+        }
+        if (snapshot.split != null && event instanceof Cancellable) {
+            dispatcher.dispatch(event, (Cancellable) event, snapshot.split);
+            return;
+        }
+        dispatcher.dispatch(event, snapshot.listeners, snapshot.listeners.length);
+    }
+
+    @Override
+    public boolean add(@NotNull Listener<T> listener) {
+        Snapshot<T> current;
+        Snapshot<T> next;
+        do {
+            current = this.snapshot;
+            final Listener<T>[] arr = current.listeners;
+            final int index = indexOf(arr, listener);
+            if (index >= 0) {
+                return false;
+            }
+            // Insert after the listeners with the same priority
+            final int insert = -index - 1;
+            final Listener<T>[] newArr = newListenerArray(arr.length + 1);
+            System.arraycopy(arr, 0, newArr, 0, insert);
+            System.arraycopy(arr, insert, newArr, insert + 1, arr.length - insert);
+            newArr[insert] = listener;
+            next = new Snapshot<>(newArr);
+        } while (!SNAPSHOT.compareAndSet(this, current, next));
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean remove(@NotNull Listener<T> listener) {
+        Snapshot<T> current;
+        Snapshot<T> next;
+        do {
+            current = this.snapshot;
+            final Listener<T>[] arr = current.listeners;
+            final int index = indexOf(arr, listener);
+            if (index < 0) {
+                return false;
+            }
+            if (arr.length == 1) {
+                next = (Snapshot<T>) EMPTY;
+            } else {
+                final Listener<T>[] newArr = newListenerArray(arr.length - 1);
+                System.arraycopy(arr, 0, newArr, 0, index);
+                System.arraycopy(arr, index + 1, newArr, index, arr.length - index - 1);
+                next = new Snapshot<>(newArr);
+            }
+        } while (!SNAPSHOT.compareAndSet(this, current, next));
+        return true;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.snapshot.listeners.length == 0;
+    }
+
+    @Override
+    public void update(@NotNull Collection<Listener<T>> added, @NotNull Collection<Listener<T>> removed) {
+        Snapshot<T> current;
+        Snapshot<T> next;
+        do {
+            current = this.snapshot;
+            final Listener<T>[] arr = current.listeners;
+            final Listener<T>[] newArr = Util.mergeSorted(arr, arr.length, added, removed, LockFreeListenerList::newListenerArray);
+            if (newArr == null) {
+                return;
+            }
+            next = new Snapshot<>(newArr);
+        } while (!SNAPSHOT.compareAndSet(this, current, next));
+    }
+
+    /**
+     * Returns the index of the specified listener, or {@code -(insertion point) - 1} if it isn't present, where the
+     * insertion point is the index after the last listener with the same priority.
+     */
+    private static int indexOf(Listener<?>[] arr, Listener<?> listener) {
+        final int priority = listener.getPriority();
+        // Binary search for the first listener with a priority less than or equal to the listener's
+        int lo = 0;
+        int hi = arr.length;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (arr[mid].getPriority() > priority) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        for (; lo < arr.length && arr[lo].getPriority() == priority; lo++) {
+            if (arr[lo].equals(listener)) {
+                return lo;
+            }
+        }
+        return -lo - 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Listener<T>[] newListenerArray(int size) {
+        return (Listener<T>[]) new Listener[size];
+    }
+
+    /**
+     * An immutable state of the list, so that the listeners, their split and their plan are always published
+     * together.
+     */
+    private static final class Snapshot<T> {
+
+        private final Listener<T>[] listeners;
+        private final CancellationSplit<T> split;
+        private final FilterPlan<T> plan;
+
+        private Snapshot(Listener<T>[] listeners) {
+            this.listeners = listeners;
+            this.split = CancellationSplit.of(listeners, listeners.length);
+            this.plan = FilterPlan.of(listeners, listeners.length);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import dev.bat.alpinefork.listener.Listener;
 import dev.bat.alpinefork.listener.ListenerList;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
 import java.util.Objects;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -58,4 +59,24 @@ public final class ReadWriteLockListenerList<T> implements ListenerList<T> {
             this.w.unlock();
         }
     }
+
+    @Override
+    public boolean isEmpty() {
+        this.r.lock();
+        try {
+            return this.backing.isEmpty();
+        } finally {
+            this.r.unlock();
+        }
+    }
+
+    @Override
+    public void update(@NotNull Collection<Listener<T>> added, @NotNull Collection<Listener<T>> removed) {
+        this.w.lock();
+        try {
+            this.backing.update(added, removed);
+        } finally {
+            this.w.unlock();
+        }
+    }
 }
@@ -5,6 +5,7 @@ import dev.bat.alpinefork.listener.Listener;
 import dev.bat.alpinefork.listener.ListenerList;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
 import java.util.Objects;
 
 /**
@@ -49,4 +50,18 @@ public final class SynchronizedListenerList<T> implements ListenerList<T> {
             return this.backing.remove(listener);
         }
     }
+
+    @Override
+    public boolean isEmpty() {
+        synchronized (this.sync) {
+            return this.backing.isEmpty();
+        }
+    }
+
+    @Override
+    public void update(@NotNull Collection<Listener<T>> added, @NotNull Collection<Listener<T>> removed) {
+        synchronized (this.sync) {
+            this.backing.update(added, removed);
+        }
+    }
 }
@@ -0,0 +1,166 @@
+package dev.bat.alpinefork.listener.discovery;
+
+import dev.bat.alpinefork.event.EventDirection;
+import dev.bat.alpinefork.event.EventPhase;
+import dev.bat.alpinefork.exception.ListenerBindException;
+import dev.bat.alpinefork.listener.Listener;
+import dev.bat.alpinefork.listener.Subscribe;
+import dev.bat.alpinefork.listener.Subscriber;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * A {@link ListenerDiscoveryStrategy} generated at compile time by the {@code alpinefork-processor} annotation
+ * processor for a single {@link Subscriber} class. Generated strategies are registered as services, and are found by
+ * the built-in {@link ListenerDiscoveryStrategy#subscribeFields()} and {@link ListenerDiscoveryStrategy#subscribeMethods()}
+ * strategies through {@link ServiceLoader}. When a generated strategy exists for a class, the built-in strategies use
+ * it instead of reflection, so no reflective lookups or trusted {@link java.lang.invoke.MethodHandles.Lookup} are
+ * required to subscribe instances of that class.
+ *
+ * @author Bat
+ * @since 3.2.0
+ */
+public interface GeneratedDiscoveryStrategy extends ListenerDiscoveryStrategy {
+
+    /**
+     * Returns the {@link Subscriber} class that this strategy was generated for.
+     *
+     * @since 3.2.0
+     */
+    @NotNull Class<? extends Subscriber> subscriberClass();
+
+    /**
+     * Returns the candidates for the {@link Listener} fields annotated with {@link Subscribe}, which are declared by
+     * the {@link #subscriberClass() subscriber class}.
+     *
+     * @return A stream of candidates
+     * @since 3.2.0
+     */
+    Stream<ListenerCandidate<?>> findFields();
+
+    /**
+     * Returns the candidates for the event callback methods annotated with {@link Subscribe}, which are declared by
+     * the {@link #subscriberClass() subscriber class}.
+     *
+     * @return A stream of candidates
+     * @since 3.2.0
+     */
+    Stream<ListenerCandidate<?>> findMethods();
+
+    @Override
+    default Stream<ListenerCandidate<?>> findAll(Class<? extends Subscriber> cls) {
+        if (cls != this.subscriberClass()) {
+            return Stream.empty();
+        }
+        return Stream.concat(this.findFields(), this.findMethods());
+    }
+
+    /**
+     * Returns the generated strategy that is registered for the specified class, if any. Registered strategies are
+     * loaded through {@link ServiceLoader} from the class loader of the specified class.
+     *
+     * @param cls The subscriber class
+     * @return An optional containing the generated strategy, or {@link Optional#empty()} if none
+     * @since 3.2.0
+     */
+    static @NotNull Optional<GeneratedDiscoveryStrategy> forClass(@NotNull Class<? extends Subscriber> cls) {
+        return GeneratedStrategies.find(cls);
+    }
+
+    /**
+     * Creates a candidate for a {@link Listener} field. Used by generated code.
+     *
+     * @param target The validated target event type
+     * @param getter A function which reads the field from a subscriber instance
+     * @return The created candidate
+     * @since 3.2.0
+     */
+    @SuppressWarnings("unchecked")
+    static @NotNull ListenerCandidate<?> fieldCandidate(@NotNull Class<?> target,
+                                                        @NotNull Function<Subscriber, Listener<?>> getter) {
+        Objects.requireNonNull(target);
+        Objects.requireNonNull(getter);
+        final Function<Subscriber, Listener<Object>> bind = instance -> {
+            try {
+                final Listener<Object> listener = (Listener<Object>) Objects.requireNonNull(getter.apply(instance));
+                listener.setTarget((Class<Object>) target);
+                return listener;
+            } catch (Throwable e) {
+                throw new ListenerBindException("Unable to bind Listener field", e);
+            }
+        };
+        return ListenerCandidate.single(bind, ref -> WeakBindings.forward(bind.apply(ref.get())));
+    }
+
+    /**
+     * Creates a candidate for an event callback method. Used by generated code.
+     *
+     * @param target           The validated target event type
+     * @param binder           A function which binds the callback method to a subscriber instance
+     * @param invoker          The unbound callback method, used to bind weakly referenced subscriber instances
+     * @param priority         The priority value
+     * @param receiveCancelled Whether cancelled events are received
+     * @param phases           The phases of the received events, or an empty set for any phase
+     * @param directions       The directions of the received events, or an empty set for any direction
+     * @param keys             The keys of the received {@link dev.bat.alpinefork.event.Keyed} events, or an empty
+     *                         array for any key
+     * @param parallel         Whether the listener is {@link Listener#isParallel() parallel}
+     * @param executor         The name of the {@link Listener#getExecutor() executor}, or {@code null}
+     * @param filters          The filter instances, shared by every Listener created from the candidate. These should
+     *                         be obtained through {@link #filter}.
+     * @return The created candidate
+     * @since 3.2.0
+     */
+    @SuppressWarnings("unchecked")
+    static @NotNull ListenerCandidate<?> methodCandidate(@NotNull Class<?> target,
+                                                         @NotNull Function<Subscriber, Consumer<?>> binder,
+                                                         @NotNull BiConsumer<?, ?> invoker,
+                                                         int priority, boolean receiveCancelled,
+                                                         @NotNull Set<EventPhase> phases,
+                                                         @NotNull Set<EventDirection> directions,
+                                                         @NotNull int[] keys, boolean parallel,
+                                                         @Nullable String executor,
+                                                         @NotNull Predicate<?>... filters) {
+        Objects.requireNonNull(target);
+        Objects.requireNonNull(binder);
+        Objects.requireNonNull(invoker);
+        return ListenerCandidate.single(instance -> {
+            try {
+                final Consumer<Object> callback = (Consumer<Object>) binder.apply(instance);
+                final Listener<Object> listener = new Listener<>((Class<Object>) target, callback, priority, receiveCancelled, phases, directions, (Predicate<Object>[]) filters);
+                return ListenerMethodDiscoveryStrategy.withOptions(listener, keys, parallel, executor);
+            } catch (Throwable e) {
+                throw new ListenerBindException("Unable to bind Listener method", e);
+            }
+        }, ref -> {
+            final Consumer<Object> callback = WeakBindings.bind(ref, (BiConsumer<?, Object>) invoker);
+            final Listener<Object> listener = new Listener<>((Class<Object>) target, callback, priority, receiveCancelled, phases, directions, (Predicate<Object>[]) filters);
+            return ListenerMethodDiscoveryStrategy.withOptions(listener, keys, parallel, executor);
+        });
+    }
+
+    /**
+     * Returns the shared instance of a {@link Subscribe#filters() filter} class, which is the same instance that is
+     * used by reflectively discovered listeners. Used by generated code.
+     *
+     * @param type        The filter class
+     * @param constructor Creates an instance of the filter class, if none exists yet
+     * @param <P>         The filter type
+     * @return The shared instance
+     * @since 3.2.0
+     */
+    static <P extends Predicate<?>> @NotNull P filter(@NotNull Class<P> type, @NotNull Supplier<? extends P> constructor) {
+        return SharedFilters.intern(Objects.requireNonNull(type), Objects.requireNonNull(constructor));
+    }
+}
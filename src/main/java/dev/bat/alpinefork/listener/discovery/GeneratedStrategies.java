@@ -0,0 +1,94 @@
+package dev.bat.alpinefork.listener.discovery;
+
+import dev.bat.alpinefork.listener.Subscriber;
+
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.util.*;
+
+/**
+ * Registry of the {@link GeneratedDiscoveryStrategy} services provided by each class loader.
+ * <p>
+ * The services of a class loader are loaded once, and indexed by their subscriber class. The index is softly
+ * referenced, as it holds the strategies and therefore their class loader, and the strategy of each subscriber class
+ * is cached in a {@link ClassValue}, so neither cache keeps a class loader reachable. Service entries which can't be
+ * loaded are reported once per class loader and skipped, so that the affected classes fall back to reflective
+ * discovery.
+ *
+ * @author Bat
+ * @since 3.2.0
+ */
+final class GeneratedStrategies {
+
+    private GeneratedStrategies() {}
+
+    private static final ClassValue<Optional<GeneratedDiscoveryStrategy>> STRATEGIES = new ClassValue<Optional<GeneratedDiscoveryStrategy>>() {
+        @Override
+        protected Optional<GeneratedDiscoveryStrategy> computeValue(Class<?> type) {
+            return Optional.ofNullable(GeneratedStrategies.index(type.getClassLoader()).get(type));
+        }
+    };
+
+    /**
+     * The strategies provided by each class loader, indexed by their subscriber class.
+     */
+    private static final Map<ClassLoader, SoftReference<Map<Class<?>, GeneratedDiscoveryStrategy>>> INDICES = new WeakHashMap<>();
+
+    /**
+     * The class loaders whose service configuration errors have been reported already.
+     */
+    private static final Set<ClassLoader> REPORTED = Collections.synchronizedSet(
+        Collections.newSetFromMap(new WeakHashMap<>())
+    );
+
+    static Optional<GeneratedDiscoveryStrategy> find(Class<? extends Subscriber> cls) {
+        return STRATEGIES.get(cls);
+    }
+
+    private static Map<Class<?>, GeneratedDiscoveryStrategy> index(ClassLoader loader) {
+        if (loader == null) {
+            loader = ClassLoader.getSystemClassLoader();
+        }
+        synchronized (INDICES) {
+            final SoftReference<Map<Class<?>, GeneratedDiscoveryStrategy>> ref = INDICES.get(loader);
+            Map<Class<?>, GeneratedDiscoveryStrategy> index = ref != null ? ref.get() : null;
+            if (index == null) {
+                index = load(loader);
+                INDICES.put(loader, new SoftReference<>(index));
+            }
+            return index;
+        }
+    }
+
+    private static Map<Class<?>, GeneratedDiscoveryStrategy> load(ClassLoader loader) {
+        final Map<Class<?>, GeneratedDiscoveryStrategy> index = new HashMap<>();
+        final Iterator<GeneratedDiscoveryStrategy> strategies =
+            ServiceLoader.load(GeneratedDiscoveryStrategy.class, loader).iterator();
+        while (true) {
+            final GeneratedDiscoveryStrategy strategy;
+            try {
+                if (!strategies.hasNext()) {
+                    return index;
+                }
+                strategy = strategies.next();
+            } catch (ServiceConfigurationError e) {
+                report(loader, e);
+                // The iterator moves past an entry which fails to load, but a configuration file which can't be read
+                // may fail again on every retry
+                if (e.getCause() instanceof IOException) {
+                    return index;
+                }
+                continue;
+            }
+            // Keep the first provider of each class, as the configuration files of parent loaders are listed first
+            index.putIfAbsent(strategy.subscriberClass(), strategy);
+        }
+    }
+
+    private static void report(ClassLoader loader, ServiceConfigurationError error) {
+        if (REPORTED.add(loader)) {
+            System.err.println("Unable to load a generated discovery strategy, falling back to reflection");
+            error.printStackTrace();
+        }
+    }
+}
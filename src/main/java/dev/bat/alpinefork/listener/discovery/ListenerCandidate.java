@@ -5,6 +5,7 @@ import dev.bat.alpinefork.listener.Listener;
 import dev.bat.alpinefork.listener.Subscriber;
 import org.jetbrains.annotations.NotNull;
 
+import java.lang.ref.WeakReference;
 import java.util.Objects;
 import java.util.function.Function;
 import java.util.stream.Stream;
@@ -29,6 +30,22 @@ public interface ListenerCandidate<T> {
      */
     Stream<Listener<T>> bind(Subscriber instance);
 
+    /**
+     * Binds the referenced {@link Subscriber} instance to the Listener(s) provided by its class definition, without
+     * the returned Listener(s) holding a strong reference to the instance. This is used when an event bus has
+     * {@link dev.bat.alpinefork.bus.EventBusBuilder#setWeakSubscribers() weak subscribers} enabled. The default
+     * implementation falls back to {@link #bind}, in which case the Listener(s) will keep the instance reachable.
+     *
+     * @param instance A weak reference to a subscriber instance, which is not cleared at the time of the call
+     * @return The bound Listener
+     * @throws ListenerBindException If binding to the candidate fails
+     * @since 3.2.0
+     */
+    default Stream<Listener<T>> bindWeak(WeakReference<? extends Subscriber> instance) {
+        final Subscriber subscriber = instance.get();
+        return subscriber == null ? Stream.empty() : this.bind(subscriber);
+    }
+
     /**
      * Wraps the specified bind function, which produces a single {@link Listener} instance, and creates a new
      * {@link ListenerCandidate}. This helper method can be used to avoid having to call {@link Stream#of} in every
@@ -43,4 +60,31 @@ public interface ListenerCandidate<T> {
         Objects.requireNonNull(function);
         return instance -> Stream.of(function.apply(instance));
     }
+
+    /**
+     * Wraps the specified bind functions, which each produce a single {@link Listener} instance, and creates a new
+     * {@link ListenerCandidate} which supports {@link #bindWeak}.
+     *
+     * @param function     The bind function
+     * @param weakFunction The weak bind function
+     * @param <T>          The event type
+     * @return The created candidate
+     * @since 3.2.0
+     */
+    static <T> @NotNull ListenerCandidate<T> single(@NotNull Function<Subscriber, Listener<T>> function,
+                                                    @NotNull Function<WeakReference<? extends Subscriber>, Listener<T>> weakFunction) {
+        Objects.requireNonNull(function);
+        Objects.requireNonNull(weakFunction);
+        return new ListenerCandidate<T>() {
+            @Override
+            public Stream<Listener<T>> bind(Subscriber instance) {
+                return Stream.of(function.apply(instance));
+            }
+
+            @Override
+            public Stream<Listener<T>> bindWeak(WeakReference<? extends Subscriber> instance) {
+                return Stream.of(weakFunction.apply(instance));
+            }
+        };
+    }
 }
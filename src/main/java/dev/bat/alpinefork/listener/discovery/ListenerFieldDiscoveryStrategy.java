@@ -9,6 +9,7 @@ import dev.bat.alpinefork.listener.Subscribe;
 import dev.bat.alpinefork.listener.Subscriber;
 import dev.bat.alpinefork.util.Util;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
@@ -16,6 +17,9 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.Arrays;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 /**
@@ -27,6 +31,10 @@ enum ListenerFieldDiscoveryStrategy implements ListenerDiscoveryStrategy {
 
     @Override
     public Stream<ListenerCandidate<?>> findAll(Class<? extends Subscriber> cls) {
+        final Optional<GeneratedDiscoveryStrategy> generated = GeneratedDiscoveryStrategy.forClass(cls);
+        if (generated.isPresent()) {
+            return generated.get().findFields();
+        }
         return getListenerFields(cls).map(ListenerFieldDiscoveryStrategy::asListener);
     }
 
@@ -56,18 +64,26 @@ enum ListenerFieldDiscoveryStrategy implements ListenerDiscoveryStrategy {
             cause -> new ListenerDiscoveryException("Couldn't validate event type", cause)
         );
 
-        return ListenerCandidate.single(instance -> {
+        // Create a lazily-initialized getter for the field, shared by every instance bound to this candidate
+        final Callable<MethodHandle> getter = Util.lazy(() -> {
+            // Create a lookup in the owner class
+            final MethodHandles.Lookup lookup = Util.getLookup().in(owner);
+            // Read the field using the trusted lookup
+            // (This should avoid setAccessible issues in future Java versions)
+            return lookup.unreflectGetter(field);
+        });
+
+        final Function<Subscriber, Listener<T>> bind = instance -> {
             try {
-                // Create a lookup in the owner class
-                final MethodHandles.Lookup lookup = Util.getLookup().in(owner);
-                // Read the field using the trusted lookup
-                // (This should avoid setAccessible issues in future Java versions)
-                final Listener<T> listener = (Listener<T>) Objects.requireNonNull(lookup.unreflectGetter(field).invoke(instance));
+                final Listener<T> listener = (Listener<T>) Objects.requireNonNull(getter.call().invoke(instance));
                 listener.setTarget(target);
                 return listener;
             } catch (Throwable e) {
                 throw new ListenerBindException("Unable to bind Listener field", e);
             }
-        });
+        };
+
+        // The field is kept reachable by the instance, so the weak listener only needs to reference the field value
+        return ListenerCandidate.single(bind, ref -> WeakBindings.forward(bind.apply(ref.get())));
     }
 }
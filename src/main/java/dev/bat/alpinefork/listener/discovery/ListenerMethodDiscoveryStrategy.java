@@ -1,6 +1,11 @@
 package dev.bat.alpinefork.listener.discovery;
 
+import dev.bat.alpinefork.event.Event;
+import dev.bat.alpinefork.event.EventDirection;
+import dev.bat.alpinefork.event.EventPhase;
 import dev.bat.alpinefork.event.Events;
+import dev.bat.alpinefork.event.Keyed;
+import dev.bat.alpinefork.exception.EventTypeException;
 import dev.bat.alpinefork.exception.ListenerBindException;
 import dev.bat.alpinefork.exception.ListenerDiscoveryException;
 import dev.bat.alpinefork.exception.ListenerFilterException;
@@ -9,6 +14,7 @@ import dev.bat.alpinefork.listener.Listener;
 import dev.bat.alpinefork.listener.Subscribe;
 import dev.bat.alpinefork.listener.Subscriber;
 import dev.bat.alpinefork.util.Util;
+import org.jetbrains.annotations.Nullable;
 
 import java.lang.invoke.LambdaMetafactory;
 import java.lang.invoke.MethodHandle;
@@ -18,7 +24,12 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -32,6 +43,10 @@ enum ListenerMethodDiscoveryStrategy implements ListenerDiscoveryStrategy {
 
     @Override
     public Stream<ListenerCandidate<?>> findAll(Class<? extends Subscriber> cls) {
+        final Optional<GeneratedDiscoveryStrategy> generated = GeneratedDiscoveryStrategy.forClass(cls);
+        if (generated.isPresent()) {
+            return generated.get().findMethods();
+        }
         return getListenerMethods(cls).map(ListenerMethodDiscoveryStrategy::asListener);
     }
 
@@ -62,19 +77,26 @@ enum ListenerMethodDiscoveryStrategy implements ListenerDiscoveryStrategy {
         final Class<? extends Predicate<? super T>>[] filterTypes =
             (Class<? extends Predicate<? super T>>[]) method.getAnnotation(Subscribe.class).filters();
 
-        final Predicate<? super T>[] filters = Arrays.stream(filterTypes).map(type -> {
-            final MethodHandles.Lookup lookup = Util.getLookup().in(type);
-            final MethodHandle constructor = Util.catchAndRethrow(
-                () -> lookup.findConstructor(type, MethodType.methodType(void.class)),
-                cause -> new ListenerFilterException("Filter class requires a no-arg constructor", cause)
-            );
-            return (Predicate<? super T>) Util.catchAndRethrow(
-                constructor::invoke,
-                cause -> new ListenerFilterException("Unable to construct filter", cause)
-            );
-        }).toArray(Predicate[]::new);
+        // Filters are interned, so listeners with the same filters can share their results when an event is posted
+        final Predicate<? super T>[] filters = Arrays.stream(filterTypes)
+            .map(ListenerMethodDiscoveryStrategy::getFilter)
+            .toArray(Predicate[]::new);
 
-        final int priority = method.getAnnotation(Subscribe.class).priority();
+        final Subscribe subscribe = method.getAnnotation(Subscribe.class);
+        final int priority = subscribe.priority();
+        final boolean receiveCancelled = subscribe.receiveCancelled();
+        final Set<EventPhase> phases = toSet(EventPhase.class, subscribe.phase());
+        final Set<EventDirection> directions = toSet(EventDirection.class, subscribe.direction());
+        final int[] keys = subscribe.keys();
+        if (keys.length != 0 && !Keyed.class.isAssignableFrom(target)) {
+            throw new ListenerMethodException("Keyed listener methods must target an event type implementing Keyed");
+        }
+        if ((!phases.isEmpty() || !directions.isEmpty()) && !Event.class.isAssignableFrom(target)
+            && !target.isAssignableFrom(Event.class)) {
+            throw new EventTypeException("Listener methods with phases or directions must target an Event type");
+        }
+        final boolean parallel = subscribe.parallel();
+        final String executor = subscribe.executor().isEmpty() ? null : subscribe.executor();
 
         // Create a lazily-initialized factory for providing Consumers bound to the target method
         final Callable<MethodHandle> factory = Util.lazy(() -> {
@@ -90,16 +112,67 @@ enum ListenerMethodDiscoveryStrategy implements ListenerDiscoveryStrategy {
             ).getTarget();
         });
 
+        // Create a lazily-initialized, unbound callback for binding weakly referenced instances
+        final Callable<MethodHandle> unboundFactory = Util.lazy(() -> {
+            final MethodHandles.Lookup lookup = Util.getLookup().in(owner);
+            return LambdaMetafactory.metafactory(
+                lookup,
+                "accept",
+                MethodType.methodType(BiConsumer.class),
+                MethodType.methodType(Void.TYPE, Object.class, Object.class),
+                lookup.unreflect(method),
+                MethodType.methodType(Void.TYPE, owner, target)
+            ).getTarget();
+        });
+
         return ListenerCandidate.single(instance -> {
             try {
                 // Bind the instance to the event callback method using the factory
                 final Consumer<T> callback = (Consumer<T>) factory.call().invoke(instance);
 
                 // TODO: Caching?
-                return new Listener<>(target, callback, priority, filters);
+                final Listener<T> listener = new Listener<>(target, callback, priority, receiveCancelled, phases, directions, filters);
+                return withOptions(listener, keys, parallel, executor);
             } catch (Throwable e) {
                 throw new ListenerBindException("Unable to bind Listener method", e);
             }
+        }, ref -> {
+            try {
+                final BiConsumer<?, T> unbound = (BiConsumer<?, T>) unboundFactory.call().invoke();
+                final Listener<T> listener = new Listener<>(target, WeakBindings.bind(ref, unbound), priority, receiveCancelled, phases, directions, filters);
+                return withOptions(listener, keys, parallel, executor);
+            } catch (Throwable e) {
+                throw new ListenerBindException("Unable to bind Listener method", e);
+            }
+        });
+    }
+
+    /**
+     * Applies the options which aren't accepted by the {@link Listener} constructors.
+     */
+    static <T> Listener<T> withOptions(Listener<T> listener, int[] keys, boolean parallel, @Nullable String executor) {
+        final Listener<T> keyed = keys.length == 0 ? listener : listener.withKeys(keys);
+        final Listener<T> parallelized = parallel ? keyed.withParallel(true) : keyed;
+        return executor == null ? parallelized : parallelized.withExecutor(executor);
+    }
+
+    private static <E extends Enum<E>> Set<E> toSet(Class<E> type, E[] values) {
+        final EnumSet<E> set = EnumSet.noneOf(type);
+        Collections.addAll(set, values);
+        return set;
+    }
+
+    private static <P extends Predicate<?>> P getFilter(Class<P> type) {
+        return SharedFilters.intern(type, () -> {
+            final MethodHandles.Lookup lookup = Util.getLookup().in(type);
+            final MethodHandle constructor = Util.catchAndRethrow(
+                () -> lookup.findConstructor(type, MethodType.methodType(void.class)),
+                cause -> new ListenerFilterException("Filter class requires a no-arg constructor", cause)
+            );
+            return type.cast(Util.catchAndRethrow(
+                constructor::invoke,
+                cause -> new ListenerFilterException("Unable to construct filter", cause)
+            ));
         });
     }
 }
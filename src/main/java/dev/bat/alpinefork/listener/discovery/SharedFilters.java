@@ -0,0 +1,46 @@
+package dev.bat.alpinefork.listener.discovery;
+
+import dev.bat.alpinefork.listener.Subscribe;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Registry of the single instance of each {@link Subscribe#filters() filter} class. Sharing instances lets listener
+ * lists recognize listeners with the same filters, and evaluate each filter only once per post.
+ *
+ * @author Bat
+ * @since 3.2.0
+ */
+final class SharedFilters {
+
+    private SharedFilters() {}
+
+    private static final ClassValue<AtomicReference<Predicate<?>>> INSTANCES = new ClassValue<AtomicReference<Predicate<?>>>() {
+        @Override
+        protected AtomicReference<Predicate<?>> computeValue(Class<?> type) {
+            return new AtomicReference<>();
+        }
+    };
+
+    /**
+     * Returns the shared instance of the specified filter class, creating it if this is the first request for it. If
+     * multiple threads race to create the instance, only one of the created instances is ever returned.
+     *
+     * @param type        The filter class
+     * @param constructor Creates an instance of the filter class
+     * @param <P>         The filter type
+     * @return The shared instance
+     */
+    static <P extends Predicate<?>> P intern(Class<P> type, Supplier<? extends P> constructor) {
+        final AtomicReference<Predicate<?>> instance = INSTANCES.get(type);
+        final Predicate<?> existing = instance.get();
+        if (existing != null) {
+            return type.cast(existing);
+        }
+        final P created = Objects.requireNonNull(constructor.get());
+        return instance.compareAndSet(null, created) ? created : type.cast(instance.get());
+    }
+}
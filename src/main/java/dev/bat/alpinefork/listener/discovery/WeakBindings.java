@@ -0,0 +1,48 @@
+package dev.bat.alpinefork.listener.discovery;
+
+import dev.bat.alpinefork.listener.Listener;
+import dev.bat.alpinefork.listener.Subscriber;
+
+import java.lang.ref.WeakReference;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Helpers for creating Listeners which only weakly reference their subscriber instance.
+ *
+ * @author Bat
+ * @since 3.2.0
+ */
+final class WeakBindings {
+
+    private WeakBindings() {}
+
+    /**
+     * Creates a Listener which forwards to the specified Listener through a weak reference. This is used for Listener
+     * fields, which are kept reachable by the subscriber instance that declares them.
+     */
+    static <T> Listener<T> forward(Listener<T> listener) {
+        final WeakReference<Listener<T>> ref = new WeakReference<>(listener);
+        return listener.withCallback(event -> {
+            final Listener<T> target = ref.get();
+            if (target != null) {
+                target.accept(event);
+            }
+        });
+    }
+
+    /**
+     * Creates a callback which invokes the specified unbound callback with the referenced subscriber instance, if it
+     * hasn't been collected.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Consumer<T> bind(WeakReference<? extends Subscriber> instance, BiConsumer<?, T> invoker) {
+        final BiConsumer<Object, T> unbound = (BiConsumer<Object, T>) invoker;
+        return event -> {
+            final Subscriber subscriber = instance.get();
+            if (subscriber != null) {
+                unbound.accept(subscriber, event);
+            }
+        };
+    }
+}
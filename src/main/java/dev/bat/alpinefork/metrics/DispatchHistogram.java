@@ -0,0 +1,145 @@
+package dev.bat.alpinefork.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of durations in nanoseconds, using power-of-two buckets. Bucket {@code i} counts the durations which are
+ * less than {@code 2^i} nanoseconds, and at least {@code 2^(i-1)} nanoseconds, with bucket {@code 0} counting the
+ * durations of zero. Recording is lock-free and may be done
+ * from any number of threads, as each bucket is a {@link LongAdder}.
+ *
+ * @author Bat
+ * @since 3.2.0
+ */
+public final class DispatchHistogram {
+
+    /**
+     * The number of buckets, covering every non-negative {@code long} duration.
+     */
+    public static final int BUCKETS = 64;
+
+    private final LongAdder[] buckets;
+    private final LongAdder totalNanos;
+    private final LongAccumulator maxNanos;
+
+    DispatchHistogram() {
+        this.buckets = new LongAdder[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            this.buckets[i] = new LongAdder();
+        }
+        this.totalNanos = new LongAdder();
+        this.maxNanos = new LongAccumulator(Math::max, 0L);
+    }
+
+    void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        this.buckets[BUCKETS - Long.numberOfLeadingZeros(nanos)].increment();
+        this.totalNanos.add(nanos);
+        this.maxNanos.accumulate(nanos);
+    }
+
+    void reset() {
+        for (LongAdder bucket : this.buckets) {
+            bucket.reset();
+        }
+        this.totalNanos.reset();
+        this.maxNanos.reset();
+    }
+
+    /**
+     * Returns the number of durations recorded in the specified bucket.
+     *
+     * @param bucket The bucket index, from {@code 0} to {@link #BUCKETS} (exclusive)
+     * @return The count
+     * @since 3.2.0
+     */
+    public long getCount(int bucket) {
+        return this.buckets[bucket].sum();
+    }
+
+    /**
+     * Returns a snapshot of the counts of every bucket.
+     *
+     * @since 3.2.0
+     */
+    public long[] getCounts() {
+        final long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = this.buckets[i].sum();
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the exclusive upper bound in nanoseconds of the durations counted by the specified bucket.
+     *
+     * @param bucket The bucket index
+     * @return The upper bound, or {@link Long#MAX_VALUE} for the last bucket
+     * @since 3.2.0
+     */
+    public static long getUpperBoundNanos(int bucket) {
+        return bucket >= BUCKETS - 1 ? Long.MAX_VALUE : 1L << bucket;
+    }
+
+    /**
+     * Returns the total number of recorded durations.
+     *
+     * @since 3.2.0
+     */
+    public long getTotalCount() {
+        long count = 0;
+        for (LongAdder bucket : this.buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    /**
+     * Returns the sum of all recorded durations.
+     *
+     * @since 3.2.0
+     */
+    public long getTotalNanos() {
+        return this.totalNanos.sum();
+    }
+
+    /**
+     * Returns the longest recorded duration.
+     *
+     * @since 3.2.0
+     */
+    public long getMaxNanos() {
+        return this.maxNanos.get();
+    }
+
+    /**
+     * Returns an upper bound of the specified percentile of the recorded durations, which is accurate to within a
+     * factor of two.
+     *
+     * @param percentile The percentile, from {@code 0} to {@code 100}
+     * @return The upper bound in nanoseconds, or {@code 0} if nothing has been recorded
+     * @since 3.2.0
+     */
+    public long getPercentileNanos(double percentile) {
+        final long[] counts = this.getCounts();
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(getUpperBoundNanos(i), this.getMaxNanos());
+            }
+        }
+        return this.getMaxNanos();
+    }
+}
@@ -0,0 +1,131 @@
+package dev.bat.alpinefork.metrics;
+
+import dev.bat.alpinefork.bus.EventBusBuilder;
+import dev.bat.alpinefork.bus.EventManager;
+import dev.bat.alpinefork.listener.Listener;
+import dev.bat.alpinefork.listener.ListenerList;
+import dev.bat.alpinefork.listener.ListenerListFactory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Collects dispatch metrics for an {@link EventManager}, which are enabled with {@link EventBusBuilder#setMetrics()}.
+ * For each event type, the number of posts, the number of listeners and a {@link DispatchHistogram histogram} of the
+ * dispatch time are recorded. For each {@link Listener}, the number of invocations, the time spent in it and the
+ * number of exceptions it threw are recorded. All counters are {@link java.util.concurrent.atomic.LongAdder}s, so
+ * posting from multiple threads doesn't contend on them.
+ * <p>
+ * Metrics are collected by {@link #wrap wrapping} the {@link ListenerListFactory} of the bus, so a bus without
+ * metrics doesn't pay for them. Listeners are replaced in their lists by instrumented copies, which means that a
+ * {@link dev.bat.alpinefork.listener.ListenerExceptionHandler} receives the copy rather than the subscribed instance.
+ *
+ * @author Bat
+ * @since 3.2.0
+ */
+public final class EventBusMetrics {
+
+    private final ConcurrentHashMap<Class<?>, EventTypeMetrics> eventTypes;
+    private final ConcurrentHashMap<Listener<?>, ListenerMetrics> listeners;
+
+    public EventBusMetrics() {
+        this.eventTypes = new ConcurrentHashMap<>();
+        this.listeners = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns a factory which creates the lists of the specified factory, wrapped to record metrics into this object.
+     *
+     * @param factory The factory to wrap
+     * @return The wrapping factory
+     * @since 3.2.0
+     */
+    public @NotNull ListenerListFactory wrap(@NotNull ListenerListFactory factory) {
+        return new ListenerListFactory() {
+            @Override
+            public <T> @NotNull ListenerList<T> create(Class<T> eventType) {
+                final EventTypeMetrics type = EventBusMetrics.this.eventTypes.computeIfAbsent(eventType, EventTypeMetrics::new);
+                return new MetricsListenerList<>(factory.create(eventType), EventBusMetrics.this, type);
+            }
+        };
+    }
+
+    /**
+     * Returns the metrics of every event type which has a listener list.
+     *
+     * @since 3.2.0
+     */
+    public @NotNull @UnmodifiableView Collection<EventTypeMetrics> getEventTypes() {
+        return Collections.unmodifiableCollection(this.eventTypes.values());
+    }
+
+    /**
+     * Returns the metrics of the specified event type, if it has a listener list.
+     *
+     * @param type The event class
+     * @return The metrics, or {@link Optional#empty()}
+     * @since 3.2.0
+     */
+    public @NotNull Optional<EventTypeMetrics> getEventType(@NotNull Class<?> type) {
+        return Optional.ofNullable(this.eventTypes.get(type));
+    }
+
+    /**
+     * Returns the metrics of every listener which is currently subscribed.
+     *
+     * @since 3.2.0
+     */
+    public @NotNull @UnmodifiableView Collection<ListenerMetrics> getListeners() {
+        return Collections.unmodifiableCollection(this.listeners.values());
+    }
+
+    /**
+     * Returns the metrics of the specified listener, if it is currently subscribed.
+     *
+     * @param listener The listener, as it was passed to {@link EventManager#subscribe(Listener)}
+     * @return The metrics, or {@link Optional#empty()}
+     * @since 3.2.0
+     */
+    public @NotNull Optional<ListenerMetrics> getListener(@NotNull Listener<?> listener) {
+        return Optional.ofNullable(this.listeners.get(listener));
+    }
+
+    /**
+     * Resets every counter to zero. Listener counts are kept, as they reflect the current state of the bus.
+     *
+     * @since 3.2.0
+     */
+    public void reset() {
+        this.eventTypes.values().forEach(EventTypeMetrics::reset);
+        this.listeners.values().forEach(ListenerMetrics::reset);
+    }
+
+    <T> Listener<T> instrument(Listener<T> listener) {
+        final ListenerMetrics metrics = this.listeners.compute(listener, (key, existing) -> {
+            final ListenerMetrics value = existing != null ? existing : new ListenerMetrics(key);
+            value.lists.incrementAndGet();
+            return value;
+        });
+        final Consumer<T> callback = listener.getCallback();
+        return listener.withCallback(event -> {
+            final long start = System.nanoTime();
+            try {
+                callback.accept(event);
+            } catch (Throwable cause) {
+                metrics.recordException();
+                throw cause;
+            } finally {
+                metrics.record(System.nanoTime() - start);
+            }
+        });
+    }
+
+    void release(Listener<?> listener) {
+        this.listeners.computeIfPresent(listener, (key, existing) -> existing.lists.decrementAndGet() == 0 ? null : existing);
+    }
+}
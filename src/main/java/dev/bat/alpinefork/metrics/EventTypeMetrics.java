@@ -0,0 +1,83 @@
+package dev.bat.alpinefork.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The metrics of a single event type, collected by {@link EventBusMetrics}.
+ *
+ * @author Bat
+ * @since 3.2.0
+ */
+public final class EventTypeMetrics {
+
+    private final Class<?> type;
+    private final LongAdder posts;
+    private final DispatchHistogram dispatchTime;
+    final AtomicInteger listeners;
+
+    EventTypeMetrics(Class<?> type) {
+        this.type = type;
+        this.posts = new LongAdder();
+        this.dispatchTime = new DispatchHistogram();
+        this.listeners = new AtomicInteger();
+    }
+
+    void record(long nanos) {
+        this.posts.increment();
+        this.dispatchTime.record(nanos);
+    }
+
+    void reset() {
+        this.posts.reset();
+        this.dispatchTime.reset();
+    }
+
+    /**
+     * Returns the event class.
+     *
+     * @since 3.2.0
+     */
+    public @NotNull Class<?> getType() {
+        return this.type;
+    }
+
+    /**
+     * Returns the number of events of this type that were posted.
+     *
+     * @since 3.2.0
+     */
+    public long getPosts() {
+        return this.posts.sum();
+    }
+
+    /**
+     * Returns the number of listeners which currently receive this event type, which includes listeners of its
+     * supertypes if super listeners are enabled.
+     *
+     * @since 3.2.0
+     */
+    public int getListenerCount() {
+        return this.listeners.get();
+    }
+
+    /**
+     * Returns the histogram of the time taken to dispatch each event of this type to all of its listeners.
+     *
+     * @since 3.2.0
+     */
+    public @NotNull DispatchHistogram getDispatchTime() {
+        return this.dispatchTime;
+    }
+
+    @Override
+    public String toString() {
+        return "EventTypeMetrics{type=" + this.type.getName()
+            + ", posts=" + this.getPosts()
+            + ", listeners=" + this.getListenerCount()
+            + ", totalNanos=" + this.dispatchTime.getTotalNanos()
+            + ", maxNanos=" + this.dispatchTime.getMaxNanos() + "}";
+    }
+}
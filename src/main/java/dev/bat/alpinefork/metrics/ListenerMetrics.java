@@ -0,0 +1,94 @@
+package dev.bat.alpinefork.metrics;
+
+import dev.bat.alpinefork.listener.Listener;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The metrics of a single {@link Listener}, collected by {@link EventBusMetrics}.
+ *
+ * @author Bat
+ * @since 3.2.0
+ */
+public final class ListenerMetrics {
+
+    private final Listener<?> listener;
+    private final LongAdder invocations;
+    private final LongAdder nanos;
+    private final LongAdder exceptions;
+
+    /**
+     * The number of lists which contain this listener. Once it drops to zero, these metrics are discarded.
+     */
+    final AtomicInteger lists;
+
+    ListenerMetrics(Listener<?> listener) {
+        this.listener = listener;
+        this.invocations = new LongAdder();
+        this.nanos = new LongAdder();
+        this.exceptions = new LongAdder();
+        this.lists = new AtomicInteger();
+    }
+
+    void record(long nanos) {
+        this.invocations.increment();
+        this.nanos.add(nanos);
+    }
+
+    void recordException() {
+        this.exceptions.increment();
+    }
+
+    void reset() {
+        this.invocations.reset();
+        this.nanos.reset();
+        this.exceptions.reset();
+    }
+
+    /**
+     * Returns the listener that these metrics belong to.
+     *
+     * @since 3.2.0
+     */
+    public @NotNull Listener<?> getListener() {
+        return this.listener;
+    }
+
+    /**
+     * Returns the number of times the listener was invoked, including invocations which were rejected by its filters.
+     *
+     * @since 3.2.0
+     */
+    public long getInvocations() {
+        return this.invocations.sum();
+    }
+
+    /**
+     * Returns the cumulative time spent in the listener, in nanoseconds.
+     *
+     * @since 3.2.0
+     */
+    public long getTotalNanos() {
+        return this.nanos.sum();
+    }
+
+    /**
+     * Returns the number of invocations which threw an exception.
+     *
+     * @since 3.2.0
+     */
+    public long getExceptions() {
+        return this.exceptions.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "ListenerMetrics{target=" + this.listener.getTarget().getName()
+            + ", priority=" + this.listener.getPriority()
+            + ", invocations=" + this.getInvocations()
+            + ", totalNanos=" + this.getTotalNanos()
+            + ", exceptions=" + this.getExceptions() + "}";
+    }
+}
@@ -0,0 +1,92 @@
+package dev.bat.alpinefork.metrics;
+
+import dev.bat.alpinefork.event.dispatch.EventDispatcher;
+import dev.bat.alpinefork.listener.Listener;
+import dev.bat.alpinefork.listener.ListenerList;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link ListenerList} which times each post, and adds an instrumented {@link Listener#withCallback copy} of each {@link Listener} to its backing
+ * list in place of the original.
+ *
+ * @author Bat
+ * @since 3.2.0
+ */
+final class MetricsListenerList<T> implements ListenerList<T> {
+
+    private final ListenerList<T> backing;
+    private final EventBusMetrics metrics;
+    private final EventTypeMetrics type;
+    private final ConcurrentHashMap<Listener<T>, Listener<T>> instrumented;
+
+    MetricsListenerList(ListenerList<T> backing, EventBusMetrics metrics, EventTypeMetrics type) {
+        this.backing = backing;
+        this.metrics = metrics;
+        this.type = type;
+        this.instrumented = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public void post(@NotNull T event, @NotNull EventDispatcher dispatcher) {
+        final long start = System.nanoTime();
+        try {
+            this.backing.post(event, dispatcher);
+        } finally {
+            this.type.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public boolean add(@NotNull Listener<T> listener) {
+        final Listener<T> instrumented = this.instrumented.computeIfAbsent(listener, this.metrics::instrument);
+        if (!this.backing.add(instrumented)) {
+            return false;
+        }
+        this.type.listeners.incrementAndGet();
+        return true;
+    }
+
+    @Override
+    public boolean remove(@NotNull Listener<T> listener) {
+        final Listener<T> instrumented = this.instrumented.remove(listener);
+        if (instrumented == null) {
+            return false;
+        }
+        this.metrics.release(listener);
+        if (!this.backing.remove(instrumented)) {
+            return false;
+        }
+        this.type.listeners.decrementAndGet();
+        return true;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.backing.isEmpty();
+    }
+
+    @Override
+    public void update(@NotNull Collection<Listener<T>> added, @NotNull Collection<Listener<T>> removed) {
+        final List<Listener<T>> removing = new ArrayList<>();
+        for (Listener<T> listener : removed) {
+            final Listener<T> instrumented = this.instrumented.remove(listener);
+            if (instrumented != null) {
+                this.metrics.release(listener);
+                removing.add(instrumented);
+            }
+        }
+        final List<Listener<T>> adding = new ArrayList<>();
+        for (Listener<T> listener : added) {
+            if (!this.instrumented.containsKey(listener)) {
+                adding.add(this.instrumented.computeIfAbsent(listener, this.metrics::instrument));
+            }
+        }
+        this.backing.update(adding, removing);
+        this.type.listeners.addAndGet(adding.size() - removing.size());
+    }
+}
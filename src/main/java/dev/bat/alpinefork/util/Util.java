@@ -9,6 +9,7 @@ import java.util.*;
 import java.util.concurrent.Callable;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.function.Predicate;
 
 /**
@@ -110,12 +111,16 @@ public final class Util {
     }
 
     public static <T> Iterator<T> arrayIterator(final T[] array) {
+        return arrayIterator(array, array.length);
+    }
+
+    public static <T> Iterator<T> arrayIterator(final T[] array, final int length) {
         return new Iterator<T>() {
             private int i = 0;
 
             @Override
             public boolean hasNext() {
-                return this.i != array.length;
+                return this.i != length;
             }
 
             @Override
@@ -125,6 +130,56 @@ public final class Util {
         };
     }
 
+    /**
+     * Applies a batch of changes to the first {@code length} elements of a sorted array, in a single pass. The elements
+     * in {@code removed} are removed first, then the elements in {@code added} that aren't present are inserted.
+     * Inserted elements are placed after the existing elements that compare equal to them, and keep their order among
+     * each other. Elements are matched by {@link Object#equals}.
+     *
+     * @param sorted   The sorted array, which isn't modified
+     * @param length   The number of elements in the array
+     * @param added    The elements to insert
+     * @param removed  The elements to remove
+     * @param newArray Creates an array of the element type
+     * @return A new sorted array containing exactly the resulting elements, or {@code null} if nothing changed
+     */
+    public static <T extends Comparable<? super T>> T[] mergeSorted(final T[] sorted, final int length,
+                                                                   final Collection<? extends T> added,
+                                                                   final Collection<?> removed,
+                                                                   final IntFunction<T[]> newArray) {
+        final Set<Object> removing = removed.isEmpty() ? Collections.emptySet() : new HashSet<>(removed);
+        final List<T> kept = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            if (!removing.contains(sorted[i])) {
+                kept.add(sorted[i]);
+            }
+        }
+        final Set<T> present = new HashSet<>(kept);
+        final List<T> inserted = new ArrayList<>(added.size());
+        for (T element : added) {
+            if (present.add(element)) {
+                inserted.add(element);
+            }
+        }
+        if (kept.size() == length && inserted.isEmpty()) {
+            return null;
+        }
+        // List#sort is stable, so elements that compare equal keep their order
+        inserted.sort(null);
+
+        final T[] merged = newArray.apply(kept.size() + inserted.size());
+        int k = 0;
+        int n = 0;
+        for (int i = 0; i < merged.length; i++) {
+            if (n == inserted.size() || k < kept.size() && kept.get(k).compareTo(inserted.get(n)) <= 0) {
+                merged[i] = kept.get(k++);
+            } else {
+                merged[i] = inserted.get(n++);
+            }
+        }
+        return merged;
+    }
+
     public static <T> Iterator<T> singletonIterator(final T element) {
         return Collections.singleton(element).iterator();
     }
@@ -0,0 +1,86 @@
+package dev.bat.alpinefork.bus;
+
+import dev.bat.alpinefork.listener.Listener;
+import dev.bat.alpinefork.listener.ListenerArrayList;
+import dev.bat.alpinefork.listener.ListenerList;
+import dev.bat.alpinefork.listener.ListenerListFactory;
+import dev.bat.alpinefork.listener.concurrent.ReadWriteLockListenerList;
+import dev.bat.alpinefork.listener.concurrent.SynchronizedListenerList;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies that posting an event allocates nothing once the dispatch path has been compiled, for every built-in
+ * {@link ListenerList}.
+ */
+class AllocationTest {
+
+    private static final int WARMUP_POSTS = 200_000;
+    private static final int MEASURED_POSTS = 100_000;
+    private static final int ATTEMPTS = 5;
+
+    private static int received;
+
+    @Test
+    void postAllocatesNothing() {
+        final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assertTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        final Map<String, ListenerListFactory> factories = new LinkedHashMap<>();
+        factories.put("default", ListenerListFactory.defaultFactory());
+        factories.put("generated", ListenerListFactory.generated());
+        factories.put("lockFree", ListenerListFactory.lockFree());
+        factories.put("array", new ListenerListFactory() {
+            @Override
+            public <T> @NotNull ListenerList<T> create(Class<T> eventType) {
+                return new ListenerArrayList<>();
+            }
+        });
+        factories.put("synchronized", new ListenerListFactory() {
+            @Override
+            public <T> @NotNull ListenerList<T> create(Class<T> eventType) {
+                return new SynchronizedListenerList<>(new ListenerArrayList<>());
+            }
+        });
+        factories.put("readWriteLock", new ListenerListFactory() {
+            @Override
+            public <T> @NotNull ListenerList<T> create(Class<T> eventType) {
+                return new ReadWriteLockListenerList<>(new ListenerArrayList<>());
+            }
+        });
+
+        final long thread = Thread.currentThread().getId();
+        factories.forEach((name, factory) -> {
+            final EventBus bus = EventManager.builder()
+                .setName(name)
+                .setListenerListFactory(factory)
+                .build();
+            for (int i = 0; i < 4; i++) {
+                bus.subscribe(new Listener<>(String.class, event -> received++, i));
+            }
+            final String event = "event";
+            for (int i = 0; i < WARMUP_POSTS; i++) {
+                bus.post(event);
+            }
+
+            // Retry, as a deoptimization in the measured loop may allocate once while the code is recompiled
+            long allocated = -1;
+            for (int attempt = 0; attempt < ATTEMPTS && allocated != 0; attempt++) {
+                final long before = threads.getThreadAllocatedBytes(thread);
+                for (int i = 0; i < MEASURED_POSTS; i++) {
+                    bus.post(event);
+                }
+                allocated = threads.getThreadAllocatedBytes(thread) - before;
+            }
+            assertEquals(0, allocated, "Bytes allocated by " + MEASURED_POSTS + " posts to the " + name + " list");
+        });
+    }
+}
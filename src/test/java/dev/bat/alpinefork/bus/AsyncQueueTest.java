@@ -0,0 +1,198 @@
+package dev.bat.alpinefork.bus;
+
+import dev.bat.alpinefork.event.Coalescing;
+import dev.bat.alpinefork.listener.Listener;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncQueueTest {
+
+    @Test
+    void resolvesNearestPolicy() {
+        final Map<Class<?>, OverflowPolicy> policies = new LinkedHashMap<>();
+        policies.put(Object.class, OverflowPolicy.BLOCK);
+        policies.put(Packet.class, OverflowPolicy.DROP_NEWEST);
+        policies.put(Move.class, OverflowPolicy.DROP_OLDEST);
+
+        assertEquals(OverflowPolicy.DROP_OLDEST, AsyncQueue.resolve(Move.class, policies, OverflowPolicy.CALLER_RUNS));
+        assertEquals(OverflowPolicy.DROP_NEWEST, AsyncQueue.resolve(Chat.class, policies, OverflowPolicy.CALLER_RUNS));
+        assertEquals(OverflowPolicy.BLOCK, AsyncQueue.resolve(String.class, policies, OverflowPolicy.CALLER_RUNS));
+        assertEquals(OverflowPolicy.CALLER_RUNS, AsyncQueue.resolve(String.class, new HashMap<>(), OverflowPolicy.CALLER_RUNS));
+    }
+
+    @Test
+    void dropOldestKeepsOneRunnerPerQueuedEvent() {
+        final ManualExecutor executor = new ManualExecutor();
+        final EventManager bus = bus(executor, 2, OverflowPolicy.DROP_OLDEST);
+        final List<Integer> seen = new ArrayList<>();
+        bus.subscribe(new Listener<>(Integer.class, seen::add));
+
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            futures.add(bus.postAsync(i));
+            assertEquals(Math.min(i + 1, 2), executor.tasks.size(), "runners after post " + i);
+        }
+        assertEquals(2, bus.getAsyncQueueDepth());
+        assertEquals(3, bus.getAsyncDropCount(Integer.class));
+
+        executor.runAll();
+        assertTrue(executor.tasks.isEmpty());
+        assertEquals(0, bus.getAsyncQueueDepth());
+        assertEquals(List.of(3, 4), seen);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i < 3, futures.get(i).isCancelled(), "cancelled " + i);
+            assertTrue(futures.get(i).isDone());
+        }
+    }
+
+    @Test
+    void dropNewestCancelsFutureAndCountsType() {
+        final ManualExecutor executor = new ManualExecutor();
+        final EventManager bus = bus(executor, 1, OverflowPolicy.DROP_NEWEST);
+        final List<String> seen = new ArrayList<>();
+        bus.subscribe(new Listener<>(String.class, seen::add));
+
+        final CompletableFuture<Void> queued = bus.postAsync("queued");
+        final CompletableFuture<Void> droppedString = bus.postAsync("dropped");
+        final CompletableFuture<Void> droppedInteger = bus.postAsync(1);
+
+        assertTrue(droppedString.isCancelled());
+        assertTrue(droppedInteger.isCancelled());
+        assertEquals(2, bus.getAsyncDropCount());
+        assertEquals(1, bus.getAsyncDropCount(String.class));
+        assertEquals(1, bus.getAsyncDropCount(Integer.class));
+        assertEquals(0, bus.getAsyncDropCount(Object.class));
+
+        executor.runAll();
+        assertTrue(queued.isDone() && !queued.isCancelled());
+        assertEquals(List.of("queued"), seen);
+    }
+
+    @Test
+    void recreatesDroppedCoalescingSlot() {
+        final ManualExecutor executor = new ManualExecutor();
+        final EventManager bus = bus(executor, 1, OverflowPolicy.DROP_NEWEST);
+        final List<String> seen = new ArrayList<>();
+        bus.subscribe(new Listener<>(Position.class, position -> seen.add(position.toString())));
+
+        final CompletableFuture<Void> first = bus.postAsync(new Position(1, 0));
+        // Replacing the queued event doesn't take another place in the queue
+        assertTrue(first == bus.postAsync(new Position(1, 1)));
+        final CompletableFuture<Void> dropped = bus.postAsync(new Position(2, 0));
+        assertTrue(dropped.isCancelled());
+        assertEquals(1, bus.getAsyncQueueDepth());
+        assertEquals(1, bus.getAsyncDropCount(Position.class));
+
+        // The dropped slot is gone, so the key gets a new slot once the queue has room
+        executor.runAll();
+        final CompletableFuture<Void> recreated = bus.postAsync(new Position(2, 1));
+        assertFalse(recreated == dropped);
+        assertFalse(recreated.isDone());
+        executor.runAll();
+
+        assertTrue(first.isDone() && !first.isCancelled());
+        assertTrue(recreated.isDone() && !recreated.isCancelled());
+        assertEquals(List.of("1:1", "2:1"), seen);
+    }
+
+    @Test
+    void blockRunsInlineOnExecutorThread() throws InterruptedException {
+        final ManualExecutor executor = new ManualExecutor();
+        final EventManager bus = bus(executor, 1, OverflowPolicy.BLOCK);
+        final List<String> seen = Collections.synchronizedList(new ArrayList<>());
+        final List<CompletableFuture<Void>> futures = Collections.synchronizedList(new ArrayList<>());
+        bus.subscribe(new Listener<>(String.class, event -> {
+            seen.add(event + "@" + Thread.currentThread().getName());
+            if (event.equals("outer")) {
+                // The first event fills the queue, and the second would wait for this thread to make room
+                futures.add(bus.postAsync("queued"));
+                futures.add(bus.postAsync("inline"));
+            }
+        }));
+
+        bus.postAsync("outer");
+        final Thread worker = new Thread(executor::runAll, "worker");
+        worker.start();
+        worker.join(5000);
+
+        assertFalse(worker.isAlive());
+        assertEquals(List.of("outer@worker", "inline@worker", "queued@worker"), seen);
+        assertTrue(futures.get(1).isDone());
+        assertEquals(0, bus.getAsyncDropCount());
+    }
+
+    private static EventManager bus(Executor executor, int capacity, OverflowPolicy policy) {
+        return (EventManager) EventManager.builder()
+            .setName("async")
+            .setAsyncExecutor(executor)
+            .setAsyncQueueCapacity(capacity)
+            .setOverflowPolicy(policy)
+            .build();
+    }
+
+    /**
+     * Collects the submitted tasks, which are only run by {@link #runAll}.
+     */
+    private static final class ManualExecutor implements Executor {
+
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public synchronized void execute(@NotNull Runnable command) {
+            this.tasks.add(command);
+        }
+
+        private void runAll() {
+            Runnable task;
+            while ((task = this.poll()) != null) {
+                task.run();
+            }
+        }
+
+        private synchronized Runnable poll() {
+            return this.tasks.poll();
+        }
+    }
+
+    private interface Packet {}
+
+    private static class Chat implements Packet {}
+
+    private static final class Move extends Chat {}
+
+    private static final class Position implements Coalescing {
+
+        private final int entity;
+        private final int value;
+
+        private Position(int entity, int value) {
+            this.entity = entity;
+            this.value = value;
+        }
+
+        @Override
+        public @NotNull Object getCoalescingKey() {
+            return this.entity;
+        }
+
+        @Override
+        public String toString() {
+            return this.entity + ":" + this.value;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package dev.bat.alpinefork.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StripedEventPoolTest {
+
+    @Test
+    void reusesEventsReleasedOnAnotherThread() throws Exception {
+        final EventPool<PooledEvent> pool = new StripedEventPool<>(PooledEvent::new, 16, 2);
+        final AtomicReference<PooledEvent> acquired = new AtomicReference<>();
+        final AtomicReference<PooledEvent> reacquired = new AtomicReference<>();
+        // With two stripes, threads whose ids differ in parity use different stripes
+        final Thread producer = new Thread(() -> {
+            acquired.set(pool.acquire());
+            final Thread consumer = onOtherStripe(() -> pool.release(acquired.get()), Thread.currentThread());
+            consumer.start();
+            join(consumer);
+            reacquired.set(pool.acquire());
+        });
+        producer.start();
+        producer.join();
+
+        assertTrue(acquired.get().reset);
+        assertSame(acquired.get(), reacquired.get());
+    }
+
+    @Test
+    void reusesEventsReleasedOnTheSameThread() {
+        final EventPool<PooledEvent> pool = new StripedEventPool<>(PooledEvent::new, 16, 2);
+        final PooledEvent event = pool.acquire();
+        pool.release(event);
+        assertSame(event, pool.acquire());
+    }
+
+    /**
+     * Creates threads until one uses a different stripe than the specified thread.
+     */
+    private static Thread onOtherStripe(Runnable task, Thread thread) {
+        while (true) {
+            final Thread candidate = new Thread(task);
+            if (((candidate.getId() ^ thread.getId()) & 1) != 0) {
+                return candidate;
+            }
+        }
+    }
+
+    private static void join(Thread thread) {
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class PooledEvent implements Poolable {
+
+        private boolean reset;
+
+        @Override
+        public void reset() {
+            this.reset = true;
+        }
+    }
+}
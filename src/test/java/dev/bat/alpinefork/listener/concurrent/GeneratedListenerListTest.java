@@ -0,0 +1,90 @@
+package dev.bat.alpinefork.listener.concurrent;
+
+import dev.bat.alpinefork.bus.EventBus;
+import dev.bat.alpinefork.bus.EventBusBuilder;
+import dev.bat.alpinefork.bus.EventManager;
+import dev.bat.alpinefork.event.dispatch.ListenerInvoker;
+import dev.bat.alpinefork.listener.Listener;
+import dev.bat.alpinefork.listener.ListenerExceptionHandler;
+import dev.bat.alpinefork.listener.ListenerListFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeneratedListenerListTest {
+
+    @Test
+    void generatesHiddenClasses() {
+        @SuppressWarnings("unchecked")
+        final Listener<String>[] listeners = new Listener[]{new Listener<>(String.class, event -> {})};
+        assertTrue(ListenerInvoker.generate(listeners).getClass().isHidden());
+    }
+
+    @Test
+    void postsInPriorityOrder() {
+        final EventBus bus = generatedBus().build();
+        final List<Integer> calls = new ArrayList<>();
+        // More listeners than a single invoker holds, so that the chain consists of several generated classes
+        for (int i = 0; i < 20; i++) {
+            final int priority = i;
+            bus.subscribe(new Listener<>(String.class, event -> calls.add(priority), priority));
+        }
+        bus.post("event");
+
+        final List<Integer> expected = new ArrayList<>();
+        for (int i = 19; i >= 0; i--) {
+            expected.add(i);
+        }
+        assertEquals(expected, calls);
+    }
+
+    @Test
+    void stopsAfterHandledException() {
+        final List<Object> handled = new ArrayList<>();
+        final EventBus bus = generatedBus()
+            .setExceptionHandler(new ListenerExceptionHandler() {
+                @Override
+                public <T> boolean handleException(T event, Listener<T> listener, Throwable cause) {
+                    handled.add(cause.getMessage());
+                    return false;
+                }
+            })
+            .build();
+        final List<Integer> calls = new ArrayList<>();
+        bus.subscribe(new Listener<>(String.class, event -> calls.add(1), 1));
+        bus.subscribe(new Listener<>(String.class, event -> {
+            throw new IllegalStateException("failed");
+        }, 0));
+        bus.subscribe(new Listener<>(String.class, event -> calls.add(-1), -1));
+        bus.post("event");
+
+        assertEquals(Arrays.asList(1), calls);
+        assertEquals(Arrays.asList("failed"), handled);
+    }
+
+    @Test
+    void rejectsDuplicates() {
+        final EventBus bus = generatedBus().build();
+        final List<Integer> calls = new ArrayList<>();
+        final Listener<String> listener = new Listener<>(String.class, event -> calls.add(0));
+        bus.subscribe(listener);
+        bus.subscribe(listener);
+        bus.post("event");
+        assertEquals(Arrays.asList(0), calls);
+
+        bus.unsubscribe(listener);
+        bus.post("event");
+        assertEquals(Arrays.asList(0), calls);
+    }
+
+    private static EventBusBuilder<EventBus> generatedBus() {
+        return EventManager.builder()
+            .setName("generated")
+            .setListenerListFactory(ListenerListFactory.generated());
+    }
+}